@@ -0,0 +1,79 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator (single file, no dependencies):
+ * CONCURRENCY clients each send GET requests back to back for SECONDS
+ * and the latency distribution is printed at the end.
+ *
+ * java scripts/LoadClient.java http://localhost:8080/ 200 30
+ */
+public class LoadClient {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        long seconds = Long.parseLong(args[2]);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            int client_ = c;
+            latencies[c] = new long[1024];
+            clients.submit(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (counts[client_] == latencies[client_].length) {
+                        latencies[client_] = Arrays.copyOf(latencies[client_], counts[client_] * 2);
+                    }
+                    latencies[client_][counts[client_]++] = System.nanoTime() - start;
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+
+        long[] all = new long[Arrays.stream(counts).sum()];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        System.out.printf("requests=%d errors=%d throughput=%.1f/s p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms%n",
+                all.length, errors.get(), all.length / (double) seconds,
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 100));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+    }
+}
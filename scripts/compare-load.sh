@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Compare platform-thread and virtual-thread request handling under the same load.
+# Starts the packaged app twice on an in-memory H2 database (needs a Java 21 runtime),
+# drives a closed-loop load against one endpoint and prints the latency distribution.
+#
+# usage: scripts/compare-load.sh [path] [concurrency] [seconds] [tomcat-max-threads]
+#   e.g. JAVA=/path/to/jdk-21/bin/java scripts/compare-load.sh / 400 30 50
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+ENDPOINT=${1:-/}
+CONCURRENCY=${2:-200}
+SECONDS_PER_RUN=${3:-30}
+TOMCAT_THREADS=${4:-200}
+JAVA=${JAVA:-java}
+PORT=${PORT:-8097}
+JAR=target/gold-silver-tracker-1.0.0.jar
+
+[ -f "$JAR" ] || ./mvnw -q -B package -DskipTests
+
+run() {
+    local virtual=$1
+    VIRTUAL_THREADS=$virtual "$JAVA" -jar "$JAR" --server.port="$PORT" \
+        --spring.datasource.url='jdbc:h2:mem:load;DB_CLOSE_DELAY=-1' \
+        --spring.datasource.driver-class-name=org.h2.Driver --spring.datasource.username=sa \
+        --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect \
+        --server.tomcat.threads.max="$TOMCAT_THREADS" --logging.level.root=WARN >/dev/null 2>&1 &
+    local pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do sleep 1; done
+
+    # Warm up, then measure
+    "$JAVA" scripts/LoadClient.java "http://localhost:$PORT$ENDPOINT" "$CONCURRENCY" 10 >/dev/null
+    echo -n "virtual-threads=$virtual  "
+    "$JAVA" scripts/LoadClient.java "http://localhost:$PORT$ENDPOINT" "$CONCURRENCY" "$SECONDS_PER_RUN"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+echo "GET $ENDPOINT, $CONCURRENCY clients, ${SECONDS_PER_RUN}s, tomcat max threads $TOMCAT_THREADS"
+run false
+run true
@@ -0,0 +1,25 @@
+#!/bin/sh
+# Unpack the Boot jar into a plain classpath for class data sharing, which
+# cannot archive classes loaded from the jars nested inside the Boot jar nor
+# from directories: DIR/lib/*.jar, the application classes as
+# DIR/lib/application.jar, and DIR/classpath.txt (in the Boot jar's order)
+#
+# usage: scripts/extract.sh JAR DIR
+set -eu
+
+JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+DIR=$2
+START=$(cd "$(dirname "$0")" && pwd)/start.sh
+
+rm -rf "$DIR"
+mkdir -p "$DIR"
+cd "$DIR"
+jar -xf "$JAR" BOOT-INF/classes BOOT-INF/lib BOOT-INF/classpath.idx
+mv BOOT-INF/lib lib
+jar -cf lib/application.jar -C BOOT-INF/classes .
+{
+    printf lib/application.jar
+    sed -n 's|^- "BOOT-INF/lib/\(.*\)"$|:lib/\1|p' BOOT-INF/classpath.idx | tr -d '\n'
+} > classpath.txt
+rm -rf BOOT-INF
+cp "$START" start.sh
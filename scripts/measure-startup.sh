@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Measure time-to-first-request: from launching the JVM to the first successful
+# GET of the dashboard, on an in-memory H2 database, for
+#   jar   java -jar on the default profile (ddl-auto=update and data.sql)
+#   fast  the fast-startup layout of the image: extracted classpath, Spring AOT,
+#         the class data sharing archive and the prod profile (Flyway migrations)
+#
+# usage: scripts/measure-startup.sh [runs] [modes...]
+#   e.g. scripts/measure-startup.sh 5 jar fast
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+MODES=${*:-jar fast}
+PORT=${PORT:-8096}
+JAR=target/gold-silver-tracker-1.0.0.jar
+FAST=target/fast-startup
+H2=(--server.port="$PORT" --spring.datasource.url='jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1'
+    --spring.datasource.driver-class-name=org.h2.Driver --spring.datasource.username=sa
+    --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect --logging.level.root=WARN)
+
+# The AOT classes are only used with -Dspring.aot.enabled=true, so one build serves both modes
+if [ ! -f "$FAST/app.jsa" ]; then
+    ./mvnw -q -B -Paot package -DskipTests
+    scripts/extract.sh "$JAR" "$FAST"
+    "$FAST/start.sh" --train >/dev/null 2>&1
+fi
+
+run() {
+    local mode=$1 start pid
+    start=$(date +%s%N)
+    case $mode in
+        jar) java -jar "$JAR" "${H2[@]}" >/dev/null 2>&1 & ;;
+        fast) "$FAST/start.sh" --spring.profiles.active=prod "${H2[@]}" >/dev/null 2>&1 & ;;
+    esac
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/"; do sleep 0.05; done
+    echo $(( ($(date +%s%N) - start) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+for mode in $MODES; do
+    times=()
+    for _ in $(seq "$RUNS"); do
+        times+=("$(run "$mode")")
+    done
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    echo "$mode: time to first request ${times[*]} ms (median $(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p") ms)"
+done
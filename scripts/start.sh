@@ -0,0 +1,23 @@
+#!/bin/sh
+# Start the extracted application (scripts/extract.sh) with the Spring AOT
+# initializers and the class data sharing archive (app.jsa, when present).
+#
+# usage: start.sh [--train | application args...]
+#   --train  start the context once against an in-memory database, exit
+#            after the refresh and archive every class loaded on the way
+set -eu
+
+cd "$(dirname "$0")"
+MAIN=com.investment.goldsilver.GoldSilverTrackerApplication
+CLASSPATH=$(cat classpath.txt)
+
+if [ "${1:-}" = "--train" ]; then
+    exec java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=error -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -cp "$CLASSPATH" "$MAIN" --spring.profiles.active=prod \
+        --spring.datasource.url='jdbc:h2:mem:training' --spring.datasource.driver-class-name=org.h2.Driver \
+        --spring.datasource.username=sa
+fi
+
+# shellcheck disable=SC2086
+exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true ${JAVA_OPTS:-} \
+    -cp "$CLASSPATH" "$MAIN" "$@"
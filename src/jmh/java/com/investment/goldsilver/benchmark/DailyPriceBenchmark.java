@@ -0,0 +1,78 @@
+package com.investment.goldsilver.benchmark;
+
+import com.investment.goldsilver.dto.KeysetPage;
+import com.investment.goldsilver.entity.DailyPrice;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.service.InvestmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily price upserts and price history pages over a seeded price table
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DailyPriceBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private SeededContext context;
+    private InvestmentService investmentService;
+    private int daysPerMetal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededContext.start();
+        context.seedDailyPrices(rows);
+        investmentService = context.getBean(InvestmentService.class);
+        daysPerMetal = rows / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Update the price of an existing day
+     */
+    @Benchmark
+    public void saveDailyPrice() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        investmentService.saveDailyPrice(MetalType.GOLD,
+                BigDecimal.valueOf(random.nextLong(50_000, 800_000), 2), randomDay());
+    }
+
+    /**
+     * One page of price history starting at a random day
+     */
+    @Benchmark
+    public KeysetPage<DailyPrice> priceHistoryPage() {
+        return investmentService.getDailyPriceHistoryPage(MetalType.SILVER, randomDay().toString(), 50);
+    }
+
+    private LocalDate randomDay() {
+        return SeededContext.FIRST_PRICE_DATE.plusDays(ThreadLocalRandom.current().nextInt(daysPerMetal));
+    }
+}
@@ -0,0 +1,91 @@
+package com.investment.goldsilver.benchmark;
+
+import com.investment.goldsilver.dto.DashboardStats;
+import com.investment.goldsilver.metrics.SqlStatementTracker;
+import com.investment.goldsilver.service.InvestmentService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard statistics (what "/" renders) over a seeded ledger, with and
+ * without the Hibernate second-level cache. The statements counter divided by
+ * the invocations counter is the number of database round trips per request;
+ * priceCacheTtl=0s turns off the in-process price cache, so every price read
+ * goes to Hibernate and only the second-level cache can save the round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    @Param({ "true", "false" })
+    public boolean secondLevelCache;
+
+    @Param({ "10m", "0s" })
+    public String priceCacheTtl;
+
+    private SeededContext context;
+    private InvestmentService investmentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededContext.start(
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                "--price-cache.ttl=" + priceCacheTtl);
+        context.seedInvestments(rows);
+        context.seedCurrentPrices();
+        investmentService = context.getBean(InvestmentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DashboardStats getDashboardStats(Statements statements) {
+        DashboardStats[] stats = new DashboardStats[1];
+        statements.statements += SqlStatementTracker.capture(() -> stats[0] = investmentService.getDashboardStats())
+                .getStatementCount();
+        statements.invocations++;
+        return stats[0];
+    }
+
+    /**
+     * SQL statements issued by the measured calls
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long statements;
+        public long invocations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            invocations = 0;
+        }
+    }
+}
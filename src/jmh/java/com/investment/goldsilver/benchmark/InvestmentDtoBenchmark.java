@@ -0,0 +1,65 @@
+package com.investment.goldsilver.benchmark;
+
+import com.investment.goldsilver.dto.InvestmentDto;
+import com.investment.goldsilver.entity.Investment;
+import com.investment.goldsilver.entity.MetalType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InvestmentDto.fromEntity over large in-memory lists (no database)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InvestmentDtoBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private List<Investment> investments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(rows);
+        investments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long grams = random.nextLong(1_000, 10_000_000);
+            long price = random.nextLong(50_000, 800_000);
+            investments.add(new Investment((long) i, i % 2 == 0 ? MetalType.GOLD : MetalType.SILVER,
+                    LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9_000)),
+                    BigDecimal.valueOf(grams * price / 100_000, 2),
+                    BigDecimal.valueOf(grams, 5),
+                    BigDecimal.valueOf(price, 2)));
+        }
+    }
+
+    @Benchmark
+    public List<InvestmentDto> fromEntity() {
+        List<InvestmentDto> dtos = new ArrayList<>(investments.size());
+        for (Investment investment : investments) {
+            dtos.add(InvestmentDto.fromEntity(investment, null));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,142 @@
+package com.investment.goldsilver.benchmark;
+
+import com.investment.goldsilver.GoldSilverTrackerApplication;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.repository.UpsertSql;
+import com.investment.goldsilver.service.InvestmentService;
+import com.investment.goldsilver.service.PortfolioAggregateService;
+import com.investment.goldsilver.service.PriceSeriesStore;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without a web server on an in-memory H2 database
+ * and seeds it with a deterministic dataset of the requested size
+ */
+final class SeededContext implements AutoCloseable {
+
+    /**
+     * First price date; seeded prices run one per day from here per metal
+     * (after the Gregorian cutover, so JDBC date conversion stays exact)
+     */
+    static final LocalDate FIRST_PRICE_DATE = LocalDate.of(1601, 1, 1);
+
+    private static final String INSERT_INVESTMENT_SQL = "INSERT INTO investments " +
+            "(metal_type, purchase_date, amount, grams, today_price_per_gram) VALUES (?, ?, ?, ?, ?)";
+    private static final String[] METALS = { "GOLD", "SILVER" };
+    private static final int BATCH_SIZE = 5_000;
+
+    private final ConfigurableApplicationContext context;
+
+    private SeededContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Start the context; extra "--name=value" arguments override the defaults
+     */
+    static SeededContext start(String... properties) {
+        String[] defaults = {
+                "--spring.main.banner-mode=off",
+                "--spring.devtools.restart.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN",
+                "--logging.level.com.investment=WARN" };
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GoldSilverTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they override application.properties
+                .run(Stream.concat(Stream.of(defaults), Stream.of(properties)).toArray(String[]::new));
+        return new SeededContext(context);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Insert investments spread over both metals and ~25 years, then rebuild
+     * the running totals
+     */
+    void seedInvestments(int rows) {
+        JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+        String upsertSql = getBean(UpsertSql.class).dailyPrice();
+        SplittableRandom random = new SplittableRandom(rows);
+        LocalDate start = LocalDate.of(2000, 1, 1);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            long grams = random.nextLong(1_000, 10_000_000); // 0.01000 .. 100.00000 g
+            long price = random.nextLong(50_000, 800_000); // 500.00 .. 8000.00 per g
+            batch.add(new Object[] {
+                    METALS[i % METALS.length],
+                    start.plusDays(random.nextInt(9_000)),
+                    BigDecimal.valueOf(grams * price / 100_000, 2),
+                    BigDecimal.valueOf(grams, 5),
+                    BigDecimal.valueOf(price, 2) });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_INVESTMENT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_INVESTMENT_SQL, batch);
+        }
+        getBean(PortfolioAggregateService.class).rebuildAggregates();
+    }
+
+    /**
+     * Set a current price for every metal
+     */
+    void seedCurrentPrices() {
+        InvestmentService investmentService = getBean(InvestmentService.class);
+        for (MetalType metalType : MetalType.values()) {
+            investmentService.updateMetalPrice(metalType, BigDecimal.valueOf(1_000 + metalType.ordinal() * 100));
+        }
+    }
+
+    /**
+     * Insert one price per day per metal (rows in total) starting at
+     * {@link #FIRST_PRICE_DATE}, then reload the in-memory series
+     */
+    void seedDailyPrices(int rows) {
+        JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+        String upsertSql = getBean(UpsertSql.class).dailyPrice();
+        SplittableRandom random = new SplittableRandom(rows);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[] {
+                    METALS[i % METALS.length],
+                    FIRST_PRICE_DATE.plusDays(i / METALS.length),
+                    BigDecimal.valueOf(random.nextLong(50_000, 800_000), 2) });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(upsertSql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(upsertSql, batch);
+        }
+        getBean(PriceSeriesStore.class).loadAll();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
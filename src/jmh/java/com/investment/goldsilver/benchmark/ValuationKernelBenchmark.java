@@ -0,0 +1,91 @@
+package com.investment.goldsilver.benchmark;
+
+import com.investment.goldsilver.valuation.ValuationKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValuationKernel conversions and valuations over column-scaled inputs (no
+ * database). Run with -prof gc: gc.alloc.rate.norm is the bytes allocated per
+ * holding, which is 0 for toFixed and totals and only the result objects for
+ * valuate; setScaleToFixed is the BigDecimal conversion for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(ValuationKernelBenchmark.HOLDINGS)
+public class ValuationKernelBenchmark {
+
+    static final int HOLDINGS = 1024;
+
+    private final BigDecimal[] grams = new BigDecimal[HOLDINGS];
+    private final BigDecimal[] prices = new BigDecimal[HOLDINGS];
+    private final BigDecimal[] amounts = new BigDecimal[HOLDINGS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(HOLDINGS);
+        for (int i = 0; i < HOLDINGS; i++) {
+            long fixedGrams = random.nextLong(1_000, 10_000_000);
+            long fixedPrice = random.nextLong(50_000, 800_000);
+            grams[i] = BigDecimal.valueOf(fixedGrams, ValuationKernel.GRAMS_SCALE);
+            prices[i] = BigDecimal.valueOf(fixedPrice, ValuationKernel.PRICE_SCALE);
+            amounts[i] = BigDecimal.valueOf(fixedGrams * fixedPrice / 100_000, ValuationKernel.AMOUNT_SCALE);
+        }
+    }
+
+    @Benchmark
+    public long toFixed() {
+        long sum = 0;
+        for (BigDecimal value : grams) {
+            sum += ValuationKernel.toFixed(value, ValuationKernel.GRAMS_SCALE);
+        }
+        return sum;
+    }
+
+    /**
+     * The conversion toFixed used to be (BigInteger per call)
+     */
+    @Benchmark
+    public long setScaleToFixed() {
+        long sum = 0;
+        for (BigDecimal value : grams) {
+            sum += value.setScale(ValuationKernel.GRAMS_SCALE).unscaledValue().longValueExact();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void valuate(Blackhole blackhole) {
+        for (int i = 0; i < HOLDINGS; i++) {
+            blackhole.consume(ValuationKernel.valuate(grams[i], prices[i], amounts[i]));
+        }
+    }
+
+    @Benchmark
+    public long totals() {
+        ValuationKernel.Totals totals = new ValuationKernel.Totals();
+        for (int i = 0; i < HOLDINGS; i++) {
+            totals.add(grams[i], amounts[i], prices[i]);
+        }
+        return totals.getCount();
+    }
+}
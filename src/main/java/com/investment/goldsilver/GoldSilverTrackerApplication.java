@@ -1,12 +1,18 @@
 package com.investment.goldsilver;
 
+import com.investment.goldsilver.cli.BulkImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class GoldSilverTrackerApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(GoldSilverTrackerApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(GoldSilverTrackerApplication.class, args);
+        if (context.getBean(BulkImportRunner.class).isImported()) {
+            // Command line import: close the context (shutdown hooks, pools) and exit with its code
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
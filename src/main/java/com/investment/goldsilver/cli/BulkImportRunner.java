@@ -0,0 +1,82 @@
+package com.investment.goldsilver.cli;
+
+import com.investment.goldsilver.dto.ImportReport;
+import com.investment.goldsilver.service.BulkImportException;
+import com.investment.goldsilver.service.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * Command line bulk import. Runs only when an import option is given; the
+ * application is then shut down through SpringApplication.exit, with exit
+ * code 1 if any row was rejected or a chunk failed:
+ * java -jar app.jar --spring.main.web-application-type=none
+ * --import.investments=investments.csv --import.daily-prices=prices.csv
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final String INVESTMENTS_OPTION = "import.investments";
+    private static final String DAILY_PRICES_OPTION = "import.daily-prices";
+
+    private final BulkImportService bulkImportService;
+
+    private boolean imported;
+    private boolean failed;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (args.containsOption(DAILY_PRICES_OPTION)) {
+            failed |= runImport(args, DAILY_PRICES_OPTION, bulkImportService::importDailyPrices);
+            imported = true;
+        }
+        if (args.containsOption(INVESTMENTS_OPTION) && !failed) {
+            failed |= runImport(args, INVESTMENTS_OPTION, bulkImportService::importInvestments);
+            imported = true;
+        }
+    }
+
+    /**
+     * Whether an import ran, i.e. the application should exit now
+     */
+    public boolean isImported() {
+        return imported;
+    }
+
+    @Override
+    public int getExitCode() {
+        return failed ? 1 : 0;
+    }
+
+    private boolean runImport(ApplicationArguments args, String option,
+            Function<InputStream, ImportReport> importer) throws IOException {
+        boolean failed = false;
+        for (String file : args.getOptionValues(option)) {
+            try (InputStream in = Files.newInputStream(Path.of(file))) {
+                ImportReport report = importer.apply(in);
+                log.info("{}: read {}, imported {}, rejected {} in {} ms ({} rows/s)", file,
+                        report.getRowsRead(), report.getRowsImported(), report.getRowsRejected(),
+                        report.getElapsedMillis(), Math.round(report.getRowsPerSecond()));
+                report.getErrors().forEach(error ->
+                        log.warn("{} line {}: {}", file, error.getLine(), error.getMessage()));
+                failed |= report.getRowsRejected() > 0;
+            } catch (BulkImportException e) {
+                log.error("{}: {} - resume from line {}", file, e.getMessage(), e.getFirstLine());
+                return true;
+            }
+        }
+        return failed;
+    }
+}
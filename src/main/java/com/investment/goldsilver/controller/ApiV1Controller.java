@@ -0,0 +1,234 @@
+package com.investment.goldsilver.controller;
+
+import com.investment.goldsilver.datasource.RoutingContext;
+import com.investment.goldsilver.dto.DashboardStats;
+import com.investment.goldsilver.dto.IntradayTicks;
+import com.investment.goldsilver.dto.InvestmentDto;
+import com.investment.goldsilver.dto.KeysetPage;
+import com.investment.goldsilver.dto.MovingAverage;
+import com.investment.goldsilver.dto.PriceChart;
+import com.investment.goldsilver.dto.PriceRangeStats;
+import com.investment.goldsilver.dto.ValuationPoint;
+import com.investment.goldsilver.entity.DailyPrice;
+import com.investment.goldsilver.entity.MetalPrice;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.intraday.IntradayTickStore;
+import com.investment.goldsilver.service.DataVersion;
+import com.investment.goldsilver.service.InvestmentService;
+import com.investment.goldsilver.service.PortfolioValuationService;
+import com.investment.goldsilver.service.PriceRollupService;
+import com.investment.goldsilver.service.PriceSeriesCodec;
+import com.investment.goldsilver.service.PriceSeriesStore;
+import com.investment.goldsilver.service.PriceStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Versioned JSON API
+ * Every response carries a strong ETag built from the data version counters,
+ * so an unchanged poll is answered with 304 before any query runs; the
+ * bodies are read from the primary so they are never older than their tag
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class ApiV1Controller {
+
+    private final InvestmentService investmentService;
+    private final DataVersion dataVersion;
+    private final PriceSeriesStore priceSeriesStore;
+    private final PriceRollupService priceRollupService;
+    private final PortfolioValuationService portfolioValuationService;
+    private final PriceStreamService priceStreamService;
+    private final IntradayTickStore intradayTickStore;
+
+    /**
+     * Portfolio statistics (depends on the ledger and on current prices)
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardStats> dashboard(WebRequest request) {
+        return conditional(request, dataVersion.combinedTag(), investmentService::getDashboardStats);
+    }
+
+    /**
+     * Daily portfolio value since the first purchase (the curve runs up to
+     * today, so the tag also changes with the date)
+     */
+    @GetMapping("/portfolio/valuation")
+    public ResponseEntity<List<ValuationPoint>> valuation(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        return conditional(request, dataVersion.combinedTag() + "-d" + LocalDate.now().toEpochDay(),
+                () -> portfolioValuationService.getCurve(from, to));
+    }
+
+    /**
+     * Server-Sent Events stream of current ("price") and daily ("daily-price")
+     * price changes, starting with the current prices (not cached or tagged)
+     */
+    @GetMapping(path = "/prices/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter priceStream() {
+        return priceStreamService.subscribe();
+    }
+
+    /**
+     * One keyset page of investments for a metal (newest first)
+     */
+    @GetMapping("/metals/{metalType}/investments")
+    public ResponseEntity<KeysetPage<InvestmentDto>> investments(@PathVariable MetalType metalType,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return conditional(request, dataVersion.ledgerTag(),
+                () -> investmentService.getInvestmentDtoPage(metalType, after, size));
+    }
+
+    /**
+     * One keyset page of daily price history for a metal (oldest first)
+     */
+    @GetMapping("/metals/{metalType}/prices/history")
+    public ResponseEntity<KeysetPage<DailyPrice>> priceHistory(@PathVariable MetalType metalType,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return conditional(request, dataVersion.priceTag(),
+                () -> investmentService.getDailyPriceHistoryPage(metalType, after, size));
+    }
+
+    /**
+     * Daily price history of a metal within [from, to] (whole history when
+     * omitted) in the compact {@link PriceSeriesCodec} format, for clients
+     * that ask for it with the Accept header
+     */
+    @GetMapping(value = "/metals/{metalType}/prices/history", produces = PriceSeriesCodec.MEDIA_TYPE)
+    public ResponseEntity<ByteBuffer> encodedPriceHistory(@PathVariable MetalType metalType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        return conditional(request, dataVersion.priceTag(),
+                () -> priceSeriesStore.getEncodedSeries(metalType, from, to));
+    }
+
+    /**
+     * Current market price of a metal (404 when not set)
+     */
+    @GetMapping("/metals/{metalType}/prices/current")
+    public ResponseEntity<MetalPrice> currentPrice(@PathVariable MetalType metalType, WebRequest request) {
+        String etag = dataVersion.priceTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return readFromPrimary(() -> investmentService.getCurrentPrice(metalType))
+                .map(price -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(price))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Latest intraday ticks of a metal (up to limit, oldest first) and today's
+     * running open/high/low/close; the tag changes with every tick
+     */
+    @GetMapping("/metals/{metalType}/prices/intraday")
+    public ResponseEntity<IntradayTicks> intraday(@PathVariable MetalType metalType,
+            @RequestParam(defaultValue = "500") int limit,
+            WebRequest request) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditional(request, dataVersion.priceTag() + "-t" + intradayTickStore.getTickCount(metalType),
+                () -> intradayTickStore.getLatest(metalType, limit));
+    }
+
+    /**
+     * Price chart of a metal with at most about points points: daily prices
+     * when they fit, otherwise weekly, monthly or yearly rollups (whole
+     * history when from/to are omitted)
+     */
+    @GetMapping("/metals/{metalType}/prices/chart")
+    public ResponseEntity<PriceChart> priceChart(@PathVariable MetalType metalType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "500") int points,
+            WebRequest request) {
+        if (points < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditional(request, dataVersion.priceTag(),
+                () -> priceRollupService.getChart(metalType, from, to, points));
+    }
+
+    /**
+     * Range analytics of daily prices (whole history when from/to are omitted)
+     */
+    @GetMapping("/metals/{metalType}/prices/analytics")
+    public ResponseEntity<PriceRangeStats> priceAnalytics(@PathVariable MetalType metalType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        return conditional(request, dataVersion.priceTag(),
+                () -> priceSeriesStore.getRangeStats(metalType,
+                        from != null ? from : LocalDate.MIN, to != null ? to : LocalDate.MAX));
+    }
+
+    /**
+     * Trailing moving average of daily prices over a window of points
+     */
+    @GetMapping("/metals/{metalType}/prices/moving-average")
+    public ResponseEntity<MovingAverage> movingAverage(@PathVariable MetalType metalType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "7") int window,
+            WebRequest request) {
+        if (window < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditional(request, dataVersion.priceTag(),
+                () -> priceSeriesStore.getMovingAverage(metalType,
+                        from != null ? from : LocalDate.MIN, to != null ? to : LocalDate.MAX, window));
+    }
+
+    private static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        // Sets 304 and the ETag header when the client already has this version
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(readFromPrimary(body));
+    }
+
+    /**
+     * The tags come from this instance's data version, which counts commits
+     * on the primary; a body read from a lagging replica could be stored by
+     * the client under a tag that already claims the newer commit, and then
+     * revalidated with 304 until the next change. Tagged bodies are therefore
+     * always read from the primary (as the rendered page cache does).
+     */
+    private static <T> T readFromPrimary(Supplier<T> read) {
+        boolean pinned = RoutingContext.isPinnedToPrimary();
+        RoutingContext.pinToPrimary();
+        try {
+            return read.get();
+        } finally {
+            if (!pinned) {
+                RoutingContext.unpin();
+            }
+        }
+    }
+}
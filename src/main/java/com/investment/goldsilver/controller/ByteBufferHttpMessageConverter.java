@@ -0,0 +1,54 @@
+package com.investment.goldsilver.controller;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes ByteBuffer response bodies (e.g. cached encodings) straight to the
+ * response without copying them into an array first
+ */
+@Component
+public class ByteBufferHttpMessageConverter extends AbstractHttpMessageConverter<ByteBuffer> {
+
+    public ByteBufferHttpMessageConverter() {
+        super(MediaType.APPLICATION_OCTET_STREAM, MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ByteBuffer readInternal(Class<? extends ByteBuffer> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ByteBuffer request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ByteBuffer buffer, MediaType contentType) {
+        return (long) buffer.remaining();
+    }
+
+    @Override
+    protected void writeInternal(ByteBuffer buffer, HttpOutputMessage outputMessage) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(outputMessage.getBody());
+        ByteBuffer remaining = buffer.duplicate();
+        while (remaining.hasRemaining()) {
+            channel.write(remaining);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.investment.goldsilver.controller;
+
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming CSV/NDJSON export of the ledger and price history, e.g.
+ * /api/export/investments?format=NDJSON&metalType=GOLD&from=2020-01-01&gzip=true
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * Export investments, optionally filtered by metal and purchase date range
+     */
+    @GetMapping("/investments")
+    public ResponseEntity<StreamingResponseBody> exportInvestments(
+            @RequestParam(defaultValue = "CSV") ExportService.Format format,
+            @RequestParam(required = false) MetalType metalType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        Set<MetalType> metalTypes = metalTypes(metalType);
+        return stream("investments", format, gzip, out -> exportService.exportInvestments(out, format,
+                metalTypes, from != null ? from : ExportService.MIN_DATE, to != null ? to : ExportService.MAX_DATE));
+    }
+
+    /**
+     * Export daily prices, optionally filtered by metal and date range
+     */
+    @GetMapping("/daily-prices")
+    public ResponseEntity<StreamingResponseBody> exportDailyPrices(
+            @RequestParam(defaultValue = "CSV") ExportService.Format format,
+            @RequestParam(required = false) MetalType metalType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        Set<MetalType> metalTypes = metalTypes(metalType);
+        return stream("daily-prices", format, gzip, out -> exportService.exportDailyPrices(out, format,
+                metalTypes, from != null ? from : ExportService.MIN_DATE, to != null ? to : ExportService.MAX_DATE));
+    }
+
+    private static Set<MetalType> metalTypes(MetalType metalType) {
+        return metalType != null ? EnumSet.of(metalType) : EnumSet.allOf(MetalType.class);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(String name, ExportService.Format format,
+            boolean gzip, StreamingResponseBody body) {
+        String extension = format == ExportService.Format.CSV ? ".csv" : ".ndjson";
+        MediaType contentType = format == ExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv; charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson; charset=UTF-8");
+
+        if (gzip) {
+            extension += ".gz";
+            contentType = MediaType.parseMediaType("application/gzip");
+            StreamingResponseBody plain = body;
+            body = out -> {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                plain.writeTo(gzipOut);
+                gzipOut.finish();
+            };
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + extension + "\"")
+                .body(body);
+    }
+}
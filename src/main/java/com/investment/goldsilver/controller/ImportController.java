@@ -0,0 +1,56 @@
+package com.investment.goldsilver.controller;
+
+import com.investment.goldsilver.dto.ImportReport;
+import com.investment.goldsilver.service.BulkImportException;
+import com.investment.goldsilver.service.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * Bulk CSV import endpoints
+ * The request body is streamed straight into the importer, e.g.
+ * curl --data-binary @prices.csv -H 'Content-Type: text/csv' .../api/import/daily-prices
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final BulkImportService bulkImportService;
+
+    /**
+     * Import investments (metalType,purchaseDate,amount,grams,todayPricePerGram)
+     */
+    @PostMapping(value = "/investments", consumes = "text/csv")
+    public ImportReport importInvestments(InputStream body) {
+        return bulkImportService.importInvestments(body);
+    }
+
+    /**
+     * Import daily prices (metalType,priceDate,pricePerGram), updating existing dates
+     */
+    @PostMapping(value = "/daily-prices", consumes = "text/csv")
+    public ImportReport importDailyPrices(InputStream body) {
+        return bulkImportService.importDailyPrices(body);
+    }
+
+    /**
+     * Report which lines were rolled back when a chunk couldn't be written
+     * (the earlier chunks stay committed)
+     */
+    @ExceptionHandler(BulkImportException.class)
+    public ProblemDetail importFailed(BulkImportException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        problem.setProperty("firstLine", e.getFirstLine());
+        problem.setProperty("lastLine", e.getLastLine());
+        problem.setProperty("rowsCommitted", e.getRowsCommitted());
+        return problem;
+    }
+}
@@ -1,21 +1,35 @@
 package com.investment.goldsilver.controller;
 
+import com.investment.goldsilver.dto.AggregateDrift;
 import com.investment.goldsilver.dto.DashboardStats;
+import com.investment.goldsilver.dto.InvestmentDto;
+import com.investment.goldsilver.dto.KeysetPage;
+import com.investment.goldsilver.dto.MetalStats;
 import com.investment.goldsilver.entity.DailyPrice;
 import com.investment.goldsilver.entity.Investment;
 import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.intraday.IntradayTickStore;
 import com.investment.goldsilver.service.InvestmentService;
+import com.investment.goldsilver.service.PortfolioAggregateService;
+import com.investment.goldsilver.service.PriceCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
@@ -23,6 +37,9 @@ import java.time.LocalDate;
 public class InvestmentController {
 
     private final InvestmentService investmentService;
+    private final PortfolioAggregateService portfolioAggregateService;
+    private final PriceCache priceCache;
+    private final IntradayTickStore intradayTickStore;
 
     /**
      * Dashboard - Home page
@@ -35,49 +52,46 @@ public class InvestmentController {
     }
 
     /**
-     * Gold Investments Page
+     * Investments page of one metal (/gold, /silver, ...)
      */
-    @GetMapping("/gold")
-    public String goldInvestments(Model model) {
-        model.addAttribute("metalType", MetalType.GOLD);
-        model.addAttribute("investments", investmentService.getInvestmentDtosByMetalType(MetalType.GOLD));
-        model.addAttribute("priceHistory", investmentService.getDailyPriceHistory(MetalType.GOLD));
-
-        // Calculate totals for gold
-        BigDecimal totalGrams = investmentService.getInvestmentsByMetalType(MetalType.GOLD).stream()
-                .map(Investment::getGrams)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalAmount = investmentService.getInvestmentsByMetalType(MetalType.GOLD).stream()
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @GetMapping("/{metal:[a-z]+}")
+    public String metalInvestments(@PathVariable String metal,
+            @RequestParam(required = false) String investmentsAfter,
+            @RequestParam(required = false) String pricesAfter,
+            @RequestParam(required = false) Integer size,
+            Model model) {
+        MetalType metalType = MetalType.fromSlug(metal)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        model.addAttribute("metalType", metalType);
+        model.addAttribute("metalTypes", MetalType.values());
+        addPages(model, metalType, investmentsAfter, pricesAfter, size);
 
-        model.addAttribute("totalGrams", totalGrams);
-        model.addAttribute("totalAmount", totalAmount);
+        // Totals come from the same per-metal figures as the dashboard
+        MetalStats stats = investmentService.getDashboardStats().getMetals().get(metalType);
+        model.addAttribute("stats", stats);
+        model.addAttribute("totalGrams", stats.getGrams());
+        model.addAttribute("totalAmount", stats.getInvested());
 
         return "metal-investments";
     }
 
     /**
-     * Silver Investments Page
+     * Add one keyset page of investments and of price history to the model
      */
-    @GetMapping("/silver")
-    public String silverInvestments(Model model) {
-        model.addAttribute("metalType", MetalType.SILVER);
-        model.addAttribute("investments", investmentService.getInvestmentDtosByMetalType(MetalType.SILVER));
-        model.addAttribute("priceHistory", investmentService.getDailyPriceHistory(MetalType.SILVER));
+    private void addPages(Model model, MetalType metalType, String investmentsAfter, String pricesAfter,
+            Integer size) {
+        KeysetPage<InvestmentDto> investments = investmentService.getInvestmentDtoPage(metalType,
+                investmentsAfter, size);
+        KeysetPage<DailyPrice> priceHistory = investmentService.getDailyPriceHistoryPage(metalType,
+                pricesAfter, size);
 
-        // Calculate totals for silver
-        BigDecimal totalGrams = investmentService.getInvestmentsByMetalType(MetalType.SILVER).stream()
-                .map(Investment::getGrams)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalAmount = investmentService.getInvestmentsByMetalType(MetalType.SILVER).stream()
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        model.addAttribute("totalGrams", totalGrams);
-        model.addAttribute("totalAmount", totalAmount);
-
-        return "metal-investments";
+        model.addAttribute("investments", investments.getItems());
+        model.addAttribute("investmentsNext", investments.getNextCursor());
+        model.addAttribute("investmentsAfter", investmentsAfter);
+        model.addAttribute("priceHistory", priceHistory.getItems());
+        model.addAttribute("pricesNext", priceHistory.getNextCursor());
+        model.addAttribute("pricesAfter", pricesAfter);
+        model.addAttribute("size", size);
     }
 
     /**
@@ -113,7 +127,7 @@ public class InvestmentController {
                         investment.getMetalType().getDisplayName());
 
         // Redirect to the metal-specific page
-        return "redirect:/" + investment.getMetalType().name().toLowerCase();
+        return "redirect:/" + investment.getMetalType().getSlug();
     }
 
     /**
@@ -151,7 +165,7 @@ public class InvestmentController {
         redirectAttributes.addFlashAttribute("successMessage", "Investment updated successfully!");
 
         // Redirect to the metal-specific page
-        return "redirect:/" + updated.getMetalType().name().toLowerCase();
+        return "redirect:/" + updated.getMetalType().getSlug();
     }
 
     /**
@@ -175,25 +189,43 @@ public class InvestmentController {
      */
     @GetMapping("/prices")
     public String showPrices(Model model) {
-        investmentService.getCurrentPrice(MetalType.GOLD)
-                .ifPresent(price -> model.addAttribute("goldPrice", price.getPricePerGram()));
-        investmentService.getCurrentPrice(MetalType.SILVER)
-                .ifPresent(price -> model.addAttribute("silverPrice", price.getPricePerGram()));
+        model.addAttribute("metalTypes", MetalType.values());
+        model.addAttribute("currentPrices", priceCache.getCurrentPrices());
         return "prices";
     }
 
     /**
-     * Update prices
+     * Update prices; each metal's price comes from its "{slug}Price" field
+     * (goldPrice, silverPrice, ...) and blank fields are left unchanged
      */
     @PostMapping("/prices/update")
-    public String updatePrices(@RequestParam BigDecimal goldPrice,
-            @RequestParam BigDecimal silverPrice,
+    public String updatePrices(@RequestParam Map<String, String> params,
             RedirectAttributes redirectAttributes) {
+        Map<MetalType, BigDecimal> prices = new EnumMap<>(MetalType.class);
         try {
-            investmentService.updateMetalPrice(MetalType.GOLD, goldPrice);
-            investmentService.updateMetalPrice(MetalType.SILVER, silverPrice);
-            redirectAttributes.addFlashAttribute("successMessage",
-                    "Prices updated successfully! Gold: ₹" + goldPrice + " | Silver: ₹" + silverPrice);
+            for (MetalType metalType : MetalType.values()) {
+                String price = params.get(metalType.getSlug() + "Price");
+                if (price != null && !price.isBlank()) {
+                    prices.put(metalType, new BigDecimal(price.strip()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Prices must be numbers");
+            return "redirect:/prices";
+        }
+        if (prices.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Enter at least one price");
+            return "redirect:/prices";
+        }
+
+        try {
+            prices.forEach(investmentService::updateMetalPrice);
+            Instant now = Instant.now();
+            prices.forEach((metalType, price) -> intradayTickStore.record(metalType, price, now));
+            redirectAttributes.addFlashAttribute("successMessage", "Prices updated successfully! "
+                    + prices.entrySet().stream()
+                            .map(entry -> entry.getKey().getDisplayName() + ": ₹" + entry.getValue())
+                            .collect(Collectors.joining(" | ")));
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to update prices");
         }
@@ -214,7 +246,7 @@ public class InvestmentController {
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to add daily price");
         }
-        return "redirect:/" + metalType.name().toLowerCase();
+        return "redirect:/" + metalType.getSlug();
     }
 
     /**
@@ -247,4 +279,31 @@ public class InvestmentController {
         response.put("metalType", metalType.getDisplayName());
         return response;
     }
+
+    /**
+     * API endpoint exposing hit/miss/eviction statistics of the price cache
+     */
+    @GetMapping("/api/price-cache/stats")
+    @ResponseBody
+    public java.util.Map<String, java.util.Map<String, Object>> getPriceCacheStats() {
+        return priceCache.getStats();
+    }
+
+    /**
+     * API endpoint to compare the stored portfolio aggregates with the ledger
+     */
+    @GetMapping("/api/aggregates/verify")
+    @ResponseBody
+    public List<AggregateDrift> verifyAggregates() {
+        return portfolioAggregateService.verifyAggregates();
+    }
+
+    /**
+     * API endpoint to recompute the portfolio aggregates from the ledger
+     */
+    @PostMapping("/api/aggregates/rebuild")
+    @ResponseBody
+    public List<AggregateDrift> rebuildAggregates() {
+        return portfolioAggregateService.rebuildAggregates();
+    }
 }
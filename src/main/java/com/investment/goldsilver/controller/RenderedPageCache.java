@@ -0,0 +1,126 @@
+package com.investment.goldsilver.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.investment.goldsilver.datasource.RoutingContext;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.service.DataVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.FlashMapManager;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Server-side cache of the rendered dashboard and metal pages (GET / and
+ * /{metal}, per query string). A page is stored with the data version it was
+ * rendered at and served straight from memory until a committed write moves
+ * the version on. Responses carry the version as ETag and the render time as
+ * Last-Modified, so a browser that already has the page gets a 304.
+ *
+ * Requests with a pending flash message are passed through untouched. Misses
+ * render from the primary, so a lagging read replica never ends up cached
+ * under a newer version. Only registered in a servlet application (the
+ * command line import runs without one).
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RenderedPageCache extends OncePerRequestFilter {
+
+    private final DataVersion dataVersion;
+    private final FlashMapManager flashMapManager;
+    private final boolean enabled;
+    private final Cache<String, Page> pages;
+
+    public RenderedPageCache(DataVersion dataVersion,
+            FlashMapManager flashMapManager,
+            MeterRegistry meterRegistry,
+            @Value("${page-cache.enabled:true}") boolean enabled,
+            @Value("${page-cache.max-size:500}") long maxSize) {
+        this.dataVersion = dataVersion;
+        this.flashMapManager = flashMapManager;
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "rendered-pages");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals("/") && !(path.lastIndexOf('/') == 0 && MetalType.fromSlug(path.substring(1)).isPresent());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        FlashMap flashMap = flashMapManager.retrieveAndUpdate(request, response);
+        if (flashMap != null) {
+            // Taken from the session here, so hand it on as the DispatcherServlet would
+            request.setAttribute(DispatcherServlet.INPUT_FLASH_MAP_ATTRIBUTE, Collections.unmodifiableMap(flashMap));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getQueryString() == null ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        // Read before rendering: what is rendered is at least this version
+        String version = dataVersion.combinedTag();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+
+        Page page = pages.getIfPresent(key);
+        if (page != null && page.version().equals(version)) {
+            if (!webRequest.checkNotModified(version, page.renderedAt())) {
+                response.setContentType(page.contentType());
+                response.setContentLength(page.body().length);
+                response.getOutputStream().write(page.body());
+            }
+            return;
+        }
+
+        long renderedAt = System.currentTimeMillis();
+        if (webRequest.checkNotModified(version, renderedAt)) {
+            return;
+        }
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        boolean pinned = RoutingContext.isPinnedToPrimary();
+        RoutingContext.pinToPrimary();
+        try {
+            chain.doFilter(request, wrapped);
+            if (wrapped.getStatus() == HttpStatus.OK.value()) {
+                pages.put(key, new Page(version, renderedAt, wrapped.getContentType(),
+                        wrapped.getContentAsByteArray()));
+            }
+        } finally {
+            if (!pinned) {
+                RoutingContext.unpin();
+            }
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    private record Page(String version, long renderedAt, String contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.investment.goldsilver.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Stands in for replication when the replicas are embedded H2 databases:
+ * every interval the primary is scripted and the script replayed into each
+ * replica, heartbeat included. Between copies a replica falls behind like a
+ * real one, so routing, lag tolerance and read-your-writes can be tried
+ * locally. Replicas are out of rotation while they are being rewritten.
+ */
+@Slf4j
+public class EmbeddedReplicaCopier implements AutoCloseable {
+
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param replicas writable data sources of the replicas to refresh
+     */
+    public EmbeddedReplicaCopier(DataSource primary, Map<String, DataSource> replicas, ReplicaLagMonitor lagMonitor,
+            Duration interval) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> new JdbcTemplate(e.getValue())));
+        this.lagMonitor = lagMonitor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-copy-"));
+        this.scheduler.scheduleWithFixedDelay(this::copy, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void copy() {
+        List<String> script;
+        try {
+            script = primary.queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class);
+        } catch (DataAccessException e) {
+            log.warn("Could not script the primary for the embedded replicas: {}", e.getMessage());
+            return;
+        }
+        replicas.forEach((name, replica) -> {
+            lagMonitor.pause(name);
+            try {
+                replica.execute("DROP ALL OBJECTS");
+                for (String statement : script) {
+                    replica.execute(statement);
+                }
+                log.debug("Copied {} statements into replica {}", script.size(), name);
+            } catch (DataAccessException e) {
+                log.warn("Could not copy the primary into replica {}: {}", name, e.getMessage());
+            } finally {
+                lagMonitor.resume(name);
+            }
+        });
+    }
+}
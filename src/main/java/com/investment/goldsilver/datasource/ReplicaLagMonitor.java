@@ -0,0 +1,125 @@
+package com.investment.goldsilver.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how far each replica is behind the primary. A heartbeat row on
+ * the primary is set to the current time every interval; a replica's lag is
+ * the age of the heartbeat it has replicated, so it works with any kind of
+ * replication and compares application clock with application clock.
+ *
+ * A replica is healthy while its lag is within max-lag. Until its first
+ * successful check, and whenever the check fails, it is not.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final String CREATE_SQL = "CREATE TABLE IF NOT EXISTS replica_heartbeat " +
+            "(id INTEGER PRIMARY KEY, beat_millis BIGINT NOT NULL)";
+    private static final String UPDATE_SQL = "UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1";
+    private static final String INSERT_SQL = "INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)";
+    private static final String READ_SQL = "SELECT beat_millis FROM replica_heartbeat WHERE id = 1";
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> lagMillis = new ConcurrentHashMap<>();
+    private final Set<String> paused = ConcurrentHashMap.newKeySet();
+    private final long maxLagMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+            Duration interval) {
+        this.primary = new JdbcTemplate(primary);
+        this.maxLagMillis = maxLag.toMillis();
+        replicas.forEach((name, dataSource) -> {
+            JdbcTemplate template = new JdbcTemplate(dataSource);
+            template.setQueryTimeout((int) Math.max(1, interval.toSeconds()));
+            this.replicas.put(name, template);
+            this.lagMillis.put(name, new AtomicLong(UNKNOWN));
+        });
+        this.primary.execute(CREATE_SQL);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-"));
+        this.scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public List<String> getReplicas() {
+        return List.copyOf(replicas.keySet());
+    }
+
+    /**
+     * Whether reads may go to the replica
+     */
+    public boolean isHealthy(String replica) {
+        return !paused.contains(replica) && lagMillis.get(replica).get() <= maxLagMillis;
+    }
+
+    /**
+     * Last measured lag in seconds (infinite when unknown)
+     */
+    public double getLagSeconds(String replica) {
+        long lag = lagMillis.get(replica).get();
+        return lag == UNKNOWN ? Double.POSITIVE_INFINITY : lag / 1000.0;
+    }
+
+    /**
+     * Take a replica out of rotation, e.g. while it is being refreshed
+     */
+    void pause(String replica) {
+        paused.add(replica);
+    }
+
+    void resume(String replica) {
+        paused.remove(replica);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void check() {
+        try {
+            long now = System.currentTimeMillis();
+            if (primary.update(UPDATE_SQL, now) == 0) {
+                primary.update(INSERT_SQL, now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replication heartbeat: {}", e.getMessage());
+        }
+        replicas.forEach((name, replica) -> {
+            long lag;
+            try {
+                List<Long> beats = replica.queryForList(READ_SQL, Long.class);
+                lag = beats.isEmpty() ? UNKNOWN : Math.max(0, System.currentTimeMillis() - beats.get(0));
+            } catch (DataAccessException e) {
+                lag = UNKNOWN;
+            }
+            long previous = lagMillis.get(name).getAndSet(lag);
+            if ((previous <= maxLagMillis) != (lag <= maxLagMillis)) {
+                if (lag <= maxLagMillis) {
+                    log.info("Replica {} is within the lag tolerance ({} ms behind)", name, lag);
+                } else if (lag == UNKNOWN) {
+                    log.warn("Replica {} could not be checked; reading from the primary instead", name);
+                } else {
+                    log.warn("Replica {} is {} ms behind; reading from the primary instead", name, lag);
+                }
+            }
+        });
+    }
+}
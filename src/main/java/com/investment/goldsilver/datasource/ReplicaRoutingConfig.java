@@ -0,0 +1,117 @@
+package com.investment.goldsilver.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-replica routing (datasource.routing.enabled=true): replaces the
+ * auto-configured data source with a {@link ReplicaRoutingDataSource} over
+ * the primary (spring.datasource) and the replicas, behind a
+ * LazyConnectionDataSourceProxy, and the JPA transaction manager with a
+ * {@link ReplicaRoutingTransactionManager}. Without it nothing changes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    @ConfigurationProperties(HIKARI_PREFIX)
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, ReplicaRoutingProperties routing, Environment environment,
+            MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = routing.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : properties.getUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : properties.getPassword())
+                    .build();
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicas, routing.getMaxLag(),
+                routing.getHeartbeatInterval());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, lagMonitor, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+            ReplicaRoutingProperties routing, ObjectProvider<TransactionManagerCustomizers> customizers) {
+        ReplicaRoutingTransactionManager transactionManager = new ReplicaRoutingTransactionManager(
+                entityManagerFactory, routing.getReadOnlyPackages());
+        customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRoutingProperties routing) {
+        return new ReadYourWritesFilter(routing.getStickiness());
+    }
+
+    /**
+     * Local testing only: refresh embedded H2 replicas from the primary
+     */
+    @Bean
+    @ConditionalOnProperty("datasource.routing.embedded-copy-interval")
+    public EmbeddedReplicaCopier embeddedReplicaCopier(HikariDataSource primaryDataSource,
+            ReplicaRoutingDataSource routingDataSource, DataSourceProperties properties,
+            ReplicaRoutingProperties routing) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = routing.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+            if (replica.getUrl().startsWith("jdbc:h2:")) {
+                // Its own writable connections; the replica pool is read-only
+                replicas.put("replica-" + i, new DriverManagerDataSource(replica.getUrl(),
+                        replica.getUsername() != null ? replica.getUsername() : properties.getUsername(),
+                        replica.getPassword() != null ? replica.getPassword() : properties.getPassword()));
+            }
+        }
+        return new EmbeddedReplicaCopier(primaryDataSource, replicas, routingDataSource.getLagMonitor(),
+                routing.getEmbeddedCopyInterval());
+    }
+}
@@ -0,0 +1,102 @@
+package com.investment.goldsilver.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out primary connections, except inside transactions that
+ * {@link ReplicaRoutingTransactionManager} marked as replica reads: those get
+ * a connection to the next healthy replica (round robin), or to the primary
+ * when no replica is within the lag tolerance.
+ *
+ * The decision is made when a connection is first needed, so this must be
+ * wrapped in a LazyConnectionDataSourceProxy; otherwise the connection is
+ * taken before the transaction is known to be read-only.
+ *
+ * Owns the replica pools and their {@link ReplicaLagMonitor}, and closes
+ * them on {@link #close()}; the primary is left to its owner.
+ *
+ * Meters: goldsilver.datasource.connections (per target) and
+ * goldsilver.datasource.replica.lag (seconds, per replica)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicaDataSources;
+    private final List<String> replicas;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Map<String, Counter> connections = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+            ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.replicaDataSources = Map.copyOf(replicas);
+        this.replicas = List.copyOf(replicas.keySet());
+        this.lagMonitor = lagMonitor;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        for (Object target : targets.keySet()) {
+            connections.put((String) target, Counter.builder("goldsilver.datasource.connections")
+                    .description("Connections handed out by the routing data source")
+                    .tag("target", (String) target)
+                    .register(meterRegistry));
+        }
+        for (String replica : this.replicas) {
+            Gauge.builder("goldsilver.datasource.replica.lag", lagMonitor, monitor -> monitor.getLagSeconds(replica))
+                    .description("How far the replica is behind the primary")
+                    .tag("replica", replica)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        afterPropertiesSet();
+    }
+
+    public ReplicaLagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = PRIMARY;
+        if (RoutingContext.isReplicaRead() && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                String replica = replicas.get((start + i) % replicas.size());
+                if (lagMonitor.isHealthy(replica)) {
+                    target = replica;
+                    break;
+                }
+            }
+        }
+        connections.get(target).increment();
+        return target;
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.close();
+        for (DataSource replica : replicaDataSources.values()) {
+            if (replica instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    logger.warn("Could not close replica data source", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.investment.goldsilver.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing (datasource.routing.*)
+ */
+@Data
+@ConfigurationProperties("datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Replicas of spring.datasource; username and password default to the primary's
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Read-only transactions of methods in these packages may read from a replica
+     */
+    private List<String> readOnlyPackages = new ArrayList<>(List.of("com.investment.goldsilver.service"));
+
+    /**
+     * Replicas further behind the primary are skipped until they catch up
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often the primary's heartbeat is written and the replicas' lag measured
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long a client's reads stay on the primary after its own write
+     */
+    private Duration stickiness = Duration.ofSeconds(10);
+
+    /**
+     * Copy the primary into embedded (H2) replicas at this interval, standing
+     * in for replication when testing locally (disabled unless set)
+     */
+    private Duration embeddedCopyInterval;
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,65 @@
+package com.investment.goldsilver.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * JPA transaction manager that marks new read-only transactions of methods in
+ * the configured packages (the @Transactional(readOnly = true) service
+ * methods) as replica reads for {@link ReplicaRoutingDataSource}.
+ *
+ * Other read-only transactions, such as the ones Spring Data wraps around
+ * every repository call, stay on the primary: they load the in-process price
+ * caches, which must not be filled from a lagging replica. For the same
+ * reason replica reads may use the second-level cache but never put into it.
+ */
+public class ReplicaRoutingTransactionManager extends JpaTransactionManager {
+
+    private final List<String> readOnlyPackages;
+
+    public ReplicaRoutingTransactionManager(EntityManagerFactory entityManagerFactory,
+            List<String> readOnlyPackages) {
+        super(entityManagerFactory);
+        this.readOnlyPackages = readOnlyPackages.stream().map(name -> name + ".").toList();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        boolean replicaRead = definition.isReadOnly() && !RoutingContext.isPinnedToPrimary()
+                && isRoutable(definition.getName());
+        boolean preBound = TransactionSynchronizationManager.hasResource(obtainEntityManagerFactory());
+        RoutingContext.beginTransaction(replicaRead);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException e) {
+            RoutingContext.endTransaction();
+            throw e;
+        }
+        // A pre-bound entity manager outlives the transaction, so its cache mode is left alone
+        if (replicaRead && !preBound) {
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+                    .getResource(obtainEntityManagerFactory());
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            RoutingContext.endTransaction();
+        }
+    }
+
+    private boolean isRoutable(String transactionName) {
+        return transactionName != null && readOnlyPackages.stream().anyMatch(transactionName::startsWith);
+    }
+}
@@ -0,0 +1,81 @@
+package com.investment.goldsilver.datasource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Per-thread routing state: whether the current transaction may read from a
+ * replica (one entry per transaction, so a nested REQUIRES_NEW write goes to
+ * the primary and the outer read resumes afterwards), and whether the thread
+ * is pinned to the primary for read-your-writes
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<Deque<Boolean>> REPLICA_READS = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    /**
+     * Send every read of this thread to the primary until {@link #unpin()}
+     */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Wrap a task so it runs with the submitting thread's pin
+     */
+    public static Runnable propagate(Runnable task) {
+        boolean pinned = isPinnedToPrimary();
+        return () -> {
+            boolean outer = isPinnedToPrimary();
+            if (pinned) {
+                pinToPrimary();
+            }
+            try {
+                task.run();
+            } finally {
+                if (!outer) {
+                    unpin();
+                }
+            }
+        };
+    }
+
+    static void beginTransaction(boolean replicaRead) {
+        Deque<Boolean> transactions = REPLICA_READS.get();
+        if (transactions == null) {
+            transactions = new ArrayDeque<>();
+            REPLICA_READS.set(transactions);
+        }
+        transactions.push(replicaRead);
+    }
+
+    static void endTransaction() {
+        Deque<Boolean> transactions = REPLICA_READS.get();
+        if (transactions != null) {
+            transactions.poll();
+            if (transactions.isEmpty()) {
+                REPLICA_READS.remove();
+            }
+        }
+    }
+
+    /**
+     * Whether the current transaction may read from a replica
+     */
+    static boolean isReplicaRead() {
+        Deque<Boolean> transactions = REPLICA_READS.get();
+        return transactions != null && Boolean.TRUE.equals(transactions.peek());
+    }
+}
@@ -0,0 +1,49 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO describing the difference between the stored portfolio aggregate of a
+ * metal and the totals recomputed from the investments table
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateDrift {
+    private MetalType metalType;
+
+    private BigDecimal storedGrams;
+    private BigDecimal actualGrams;
+    private BigDecimal storedAmount;
+    private BigDecimal actualAmount;
+    private BigDecimal storedCurrentValue;
+    private BigDecimal actualCurrentValue;
+    private long storedCount;
+    private long actualCount;
+
+    /**
+     * Create a drift entry from the stored and the recomputed summary of a metal
+     */
+    public static AggregateDrift of(MetalSummary stored, MetalSummary actual) {
+        return new AggregateDrift(actual.getMetalType(),
+                stored.getGrams(), actual.getGrams(),
+                stored.getInvested(), actual.getInvested(),
+                stored.getCurrentValue(), actual.getCurrentValue(),
+                stored.getInvestmentCount(), actual.getInvestmentCount());
+    }
+
+    /**
+     * Check if the stored aggregate disagrees with the ledger
+     */
+    public boolean isDrifted() {
+        return storedCount != actualCount
+                || storedGrams.compareTo(actualGrams) != 0
+                || storedAmount.compareTo(actualAmount) != 0
+                || storedCurrentValue.compareTo(actualCurrentValue) != 0;
+    }
+}
@@ -1,10 +1,14 @@
 package com.investment.goldsilver.dto;
 
+import com.investment.goldsilver.entity.MetalType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * DTO for dashboard statistics
@@ -14,19 +18,33 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class DashboardStats {
     private BigDecimal totalInvested;
-    private BigDecimal totalGoldGrams;
-    private BigDecimal totalSilverGrams;
-    private BigDecimal goldCurrentValue;
-    private BigDecimal silverCurrentValue;
     private BigDecimal totalCurrentValue;
     private BigDecimal profitLoss;
     private BigDecimal profitLossPercentage;
-    private BigDecimal goldInvested;
-    private BigDecimal silverInvested;
-    private BigDecimal goldCurrentPrice;
-    private BigDecimal silverCurrentPrice;
-    private BigDecimal goldProfitLoss;
-    private BigDecimal silverProfitLoss;
+    private Map<MetalType, MetalStats> metals; // every metal, in declaration order
+
+    /**
+     * Compute the figures of every metal and the totals in one pass over the
+     * per-metal summaries; metals missing from either map read as zero or
+     * without a price
+     */
+    public static DashboardStats of(Map<MetalType, MetalSummary> summaries, Map<MetalType, BigDecimal> prices) {
+        Map<MetalType, MetalStats> metals = new EnumMap<>(MetalType.class);
+        BigDecimal totalInvested = BigDecimal.ZERO;
+        BigDecimal totalCurrentValue = BigDecimal.ZERO;
+        for (MetalType metalType : MetalType.values()) {
+            MetalSummary summary = summaries.getOrDefault(metalType, MetalSummary.empty(metalType));
+            BigDecimal profitLoss = summary.getProfitLoss();
+            metals.put(metalType, new MetalStats(metalType, summary.getInvestmentCount(), summary.getInvested(),
+                    summary.getGrams(), summary.getCurrentValue(), profitLoss,
+                    percentage(profitLoss, summary.getInvested()), prices.get(metalType)));
+            totalInvested = totalInvested.add(summary.getInvested());
+            totalCurrentValue = totalCurrentValue.add(summary.getCurrentValue());
+        }
+        BigDecimal profitLoss = totalCurrentValue.subtract(totalInvested);
+        return new DashboardStats(totalInvested, totalCurrentValue, profitLoss,
+                percentage(profitLoss, totalInvested), metals);
+    }
 
     /**
      * Check if user is in profit
@@ -36,9 +54,16 @@ public class DashboardStats {
     }
 
     /**
-     * Check if prices are available
+     * Check if prices are available for every metal
      */
     public boolean arePricesAvailable() {
-        return goldCurrentPrice != null && silverCurrentPrice != null;
+        return metals.values().stream().allMatch(metal -> metal.getCurrentPrice() != null);
+    }
+
+    private static BigDecimal percentage(BigDecimal profitLoss, BigDecimal invested) {
+        if (invested.compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+        return profitLoss.divide(invested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
     }
 }
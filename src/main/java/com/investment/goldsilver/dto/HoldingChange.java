@@ -0,0 +1,22 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the grams and amount bought of one metal on one day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldingChange {
+    private MetalType metalType;
+    private LocalDate purchaseDate;
+    private BigDecimal grams;
+    private BigDecimal amount;
+}
@@ -0,0 +1,39 @@
+package com.investment.goldsilver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO summarising a bulk CSV import (throughput and rejected rows)
+ */
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long elapsedMillis;
+    private List<RowError> errors = new ArrayList<>(); // capped, see rowsRejected for the full count
+
+    /**
+     * Rows written per second over the whole import
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsImported : rowsImported * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * A rejected CSV row
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the latest intraday ticks of a metal and today's running
+ * open/high/low/close (null before the first tick of the day)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntradayTicks {
+    private MetalType metalType;
+    private LocalDate day;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private long[] timestamps; // epoch milliseconds, oldest first
+    private double[] prices; // price per gram, same order as timestamps
+}
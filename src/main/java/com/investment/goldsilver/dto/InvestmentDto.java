@@ -2,6 +2,7 @@ package com.investment.goldsilver.dto;
 
 import com.investment.goldsilver.entity.Investment;
 import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.valuation.ValuationKernel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -45,9 +46,10 @@ public class InvestmentDto {
 
         // Calculate current value and profit/loss using stored price
         if (investment.getTodayPricePerGram() != null) {
-            BigDecimal currentValue = investment.getGrams().multiply(investment.getTodayPricePerGram());
-            dto.setCurrentValue(currentValue);
-            dto.setProfitLoss(currentValue.subtract(investment.getAmount()));
+            ValuationKernel.Valuation valuation = ValuationKernel.valuate(
+                    investment.getGrams(), investment.getTodayPricePerGram(), investment.getAmount());
+            dto.setCurrentValue(valuation.currentValue());
+            dto.setProfitLoss(valuation.profitLoss());
         }
 
         return dto;
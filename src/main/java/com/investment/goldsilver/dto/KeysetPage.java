@@ -0,0 +1,27 @@
+package com.investment.goldsilver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a keyset-paginated listing
+ * The cursor encodes the sort key of the last item, so the next page is a
+ * range scan starting right after it instead of an OFFSET
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor; // null when this is the last page
+
+    /**
+     * Check if there are more items after this page
+     */
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the dashboard figures of one metal
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetalStats {
+    private MetalType metalType;
+    private long investmentCount;
+    private BigDecimal invested;
+    private BigDecimal grams;
+    private BigDecimal currentValue;
+    private BigDecimal profitLoss;
+    private BigDecimal profitLossPercentage; // null when nothing is invested
+    private BigDecimal currentPrice; // market price for display, null when not set
+
+    /**
+     * Check if this metal is in profit (or break-even)
+     */
+    public boolean isProfit() {
+        return profitLoss.compareTo(BigDecimal.ZERO) >= 0;
+    }
+}
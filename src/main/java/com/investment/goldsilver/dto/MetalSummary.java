@@ -0,0 +1,37 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO with the grouped totals of one metal (one row per metal from a single
+ * GROUP BY query)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetalSummary {
+    private MetalType metalType;
+    private BigDecimal invested;
+    private BigDecimal grams;
+    private BigDecimal currentValue; // sum of grams × stored price per gram
+    private long investmentCount;
+
+    /**
+     * Create a zero summary for a metal without investments
+     */
+    public static MetalSummary empty(MetalType metalType) {
+        return new MetalSummary(metalType, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+    }
+
+    /**
+     * Profit/loss of this metal (current value - invested)
+     */
+    public BigDecimal getProfitLoss() {
+        return currentValue.subtract(invested);
+    }
+}
@@ -0,0 +1,22 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for a trailing moving average of daily prices
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovingAverage {
+    private MetalType metalType;
+    private int window;
+    private List<LocalDate> dates;
+    private double[] values; // price per gram, same order as dates
+}
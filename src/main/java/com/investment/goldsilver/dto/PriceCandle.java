@@ -0,0 +1,24 @@
+package com.investment.goldsilver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one chart point: the prices of a day or of a longer period
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceCandle {
+    private LocalDate periodStart;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private BigDecimal average;
+    private int days; // days with a price in the period
+}
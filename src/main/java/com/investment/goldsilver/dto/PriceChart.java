@@ -0,0 +1,21 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.entity.PriceResolution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a metal's price chart at the resolution chosen for its point budget
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChart {
+    private MetalType metalType;
+    private PriceResolution resolution;
+    private List<PriceCandle> points; // oldest first
+}
@@ -0,0 +1,29 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for price analytics of one metal over a date window
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRangeStats {
+    private MetalType metalType;
+    private LocalDate from;
+    private LocalDate to;
+    private int points;
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal mean;
+    private BigDecimal first;
+    private BigDecimal last;
+    private BigDecimal returnPercentage; // (last - first) / first × 100
+    private double dailyVolatility; // standard deviation of daily log returns
+}
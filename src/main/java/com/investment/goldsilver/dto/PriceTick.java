@@ -0,0 +1,22 @@
+package com.investment.goldsilver.dto;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one pushed price change: a current price (date is the day it was
+ * set) or a daily price (pricePerGram is null when the entry was deleted)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceTick {
+    private MetalType metalType;
+    private BigDecimal pricePerGram;
+    private LocalDate date;
+}
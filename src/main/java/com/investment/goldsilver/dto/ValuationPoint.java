@@ -0,0 +1,20 @@
+package com.investment.goldsilver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the portfolio's invested amount and market value on one day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValuationPoint {
+    private LocalDate date;
+    private BigDecimal invested;
+    private BigDecimal value;
+}
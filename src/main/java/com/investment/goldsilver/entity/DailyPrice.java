@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,8 +15,11 @@ import java.time.LocalDate;
 /**
  * Entity representing daily price history for metals
  * Used to track price changes over time
+ * Held in the "daily-prices" second-level cache region
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "daily-prices")
 @Table(name = "daily_prices", uniqueConstraints = @UniqueConstraint(columnNames = { "metal_type", "price_date" }))
 @Data
 @NoArgsConstructor
@@ -38,4 +43,17 @@ public class DailyPrice {
     @DecimalMin(value = "0.01", message = "Price must be greater than 0")
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal pricePerGram;
+
+    // Intraday open/high/low/close from the day-end tick rollup (null for days without ticks)
+    @Column(precision = 10, scale = 2)
+    private BigDecimal openPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal highPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal lowPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal closePrice;
 }
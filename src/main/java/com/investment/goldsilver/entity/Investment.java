@@ -15,7 +15,7 @@ import java.time.LocalDate;
  * User manually enters the grams purchased
  */
 @Entity
-@Table(name = "investments")
+@Table(name = "investments", indexes = @Index(name = "idx_investments_metal_date_id_desc", columnList = "metal_type, purchase_date DESC, id DESC"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -6,14 +6,19 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
  * Entity representing current market price for metals
+ * Held in the "metal-prices" second-level cache region
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "metal-prices")
 @Table(name = "metal_prices")
 @Data
 @NoArgsConstructor
@@ -1,18 +1,25 @@
 package com.investment.goldsilver.entity;
 
+import java.util.Optional;
+
 /**
  * Enum representing the type of precious metal
+ * Everything per metal (totals, prices, pages) is driven by this list
  */
 public enum MetalType {
-    GOLD("Gold", "#FFD700"),
-    SILVER("Silver", "#C0C0C0");
+    GOLD("Gold", "#FFD700", "🟡"),
+    SILVER("Silver", "#C0C0C0", "⚪"),
+    PLATINUM("Platinum", "#E5E4E2", "💠"),
+    PALLADIUM("Palladium", "#CED0DD", "🔘");
 
     private final String displayName;
     private final String colorCode;
+    private final String icon;
 
-    MetalType(String displayName, String colorCode) {
+    MetalType(String displayName, String colorCode, String icon) {
         this.displayName = displayName;
         this.colorCode = colorCode;
+        this.icon = icon;
     }
 
     public String getDisplayName() {
@@ -22,4 +29,27 @@ public enum MetalType {
     public String getColorCode() {
         return colorCode;
     }
+
+    public String getIcon() {
+        return icon;
+    }
+
+    /**
+     * Lower-case name used in page paths and CSS classes (e.g. "gold")
+     */
+    public String getSlug() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Find the metal for a page path segment
+     */
+    public static Optional<MetalType> fromSlug(String slug) {
+        for (MetalType metalType : values()) {
+            if (metalType.getSlug().equals(slug)) {
+                return Optional.of(metalType);
+            }
+        }
+        return Optional.empty();
+    }
 }
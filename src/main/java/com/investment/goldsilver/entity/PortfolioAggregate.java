@@ -0,0 +1,46 @@
+package com.investment.goldsilver.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity holding running portfolio totals for one metal
+ * Kept in step with the investments table by applying deltas on every write
+ */
+@Entity
+@Table(name = "portfolio_aggregates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull(message = "Metal type is required")
+    @Column(nullable = false, unique = true)
+    private MetalType metalType;
+
+    @NotNull
+    @Column(nullable = false, precision = 25, scale = 5)
+    private BigDecimal totalGrams;
+
+    @NotNull
+    @Column(nullable = false, precision = 25, scale = 2)
+    private BigDecimal totalAmount;
+
+    // Sum of grams × todayPricePerGram over every investment of this metal
+    @NotNull
+    @Column(nullable = false, precision = 30, scale = 7)
+    private BigDecimal totalCurrentValue;
+
+    @Column(nullable = false)
+    private long investmentCount;
+}
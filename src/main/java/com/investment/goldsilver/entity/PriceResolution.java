@@ -0,0 +1,48 @@
+package com.investment.goldsilver.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Period length of a price chart point; weeks start on Monday
+ */
+public enum PriceResolution {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS),
+    YEAR(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    PriceResolution(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * First day of the period containing a date
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Last day of the period containing a date
+     */
+    public LocalDate end(LocalDate date) {
+        return start(date).plus(1, unit).minusDays(1);
+    }
+
+    /**
+     * Number of periods touched by the range [from, to]
+     */
+    public long periods(LocalDate from, LocalDate to) {
+        return unit.between(start(from), start(to)) + 1;
+    }
+}
@@ -0,0 +1,62 @@
+package com.investment.goldsilver.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity holding the open/high/low/close/average of a metal's daily prices
+ * over one week, month or year
+ * Kept in step with the daily_prices table by recomputing the periods of
+ * every changed day
+ */
+@Entity
+@Table(name = "price_rollups", uniqueConstraints = @UniqueConstraint(columnNames = { "metal_type", "resolution",
+        "period_start" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    @Column(name = "metal_type", nullable = false)
+    private MetalType metalType;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    @Column(nullable = false, length = 10)
+    private PriceResolution resolution;
+
+    @NotNull
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal openPrice;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal highPrice;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal lowPrice;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal closePrice;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal averagePrice;
+
+    // Days with a price in the period
+    @Column(nullable = false)
+    private int dayCount;
+}
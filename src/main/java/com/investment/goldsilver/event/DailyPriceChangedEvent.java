@@ -0,0 +1,26 @@
+package com.investment.goldsilver.event;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published when a daily price history entry is saved or deleted
+ */
+@Data
+@AllArgsConstructor
+public class DailyPriceChangedEvent {
+    private MetalType metalType;
+    private LocalDate priceDate;
+    private BigDecimal pricePerGram; // null when the entry was deleted
+
+    /**
+     * Check if the entry was deleted
+     */
+    public boolean isDeleted() {
+        return pricePerGram == null;
+    }
+}
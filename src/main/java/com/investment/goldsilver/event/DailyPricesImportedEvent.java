@@ -0,0 +1,16 @@
+package com.investment.goldsilver.event;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Published when a bulk import wrote daily prices for the given metals
+ */
+@Data
+@AllArgsConstructor
+public class DailyPricesImportedEvent {
+    private Set<MetalType> metalTypes;
+}
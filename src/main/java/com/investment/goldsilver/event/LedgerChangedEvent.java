@@ -0,0 +1,16 @@
+package com.investment.goldsilver.event;
+
+import com.investment.goldsilver.entity.MetalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Published when investments of the given metals are added, changed or deleted
+ */
+@Data
+@AllArgsConstructor
+public class LedgerChangedEvent {
+    private Set<MetalType> metalTypes;
+}
@@ -0,0 +1,14 @@
+package com.investment.goldsilver.event;
+
+import com.investment.goldsilver.entity.MetalPrice;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when the current market price of a metal is saved
+ */
+@Data
+@AllArgsConstructor
+public class MetalPriceChangedEvent {
+    private MetalPrice metalPrice;
+}
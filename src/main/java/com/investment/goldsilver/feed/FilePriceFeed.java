@@ -0,0 +1,134 @@
+package com.investment.goldsilver.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tails a text file of "METAL,pricePerGram[,ISO-8601 instant]" lines, like
+ * tail -f: reading starts at the end of the file (or at the beginning with
+ * price-feed.file.from-start) and follows appended lines. A file that shrinks
+ * is assumed to have been truncated or rotated and is read again from the start.
+ */
+@Component
+@ConditionalOnProperty("price-feed.file.path")
+@Slf4j
+public class FilePriceFeed implements PriceFeed {
+
+    private final Path path;
+    private final Duration pollInterval;
+    private final boolean fromStart;
+    private volatile Thread reader;
+
+    public FilePriceFeed(@Value("${price-feed.file.path}") Path path,
+            @Value("${price-feed.file.poll-interval:200ms}") Duration pollInterval,
+            @Value("${price-feed.file.from-start:false}") boolean fromStart) {
+        this.path = path;
+        this.pollInterval = pollInterval;
+        this.fromStart = fromStart;
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public void start(Sink sink) {
+        reader = new Thread(() -> tail(sink), "price-feed-file");
+        reader.setDaemon(true);
+        reader.start();
+        log.info("Tailing price feed file {}", path);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = reader;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void tail(Sink sink) {
+        long position = -1;
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        byte[] buffer = new byte[64 * 1024];
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (Files.exists(path)) {
+                    long size = Files.size(path);
+                    if (position < 0) {
+                        position = fromStart ? 0 : size;
+                    } else if (size < position) {
+                        log.info("Price feed file {} was truncated, reading from the start", path);
+                        position = 0;
+                        line.reset();
+                    }
+                    if (size > position) {
+                        position = read(position, buffer, line, sink);
+                        continue;
+                    }
+                }
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                log.warn("Could not read price feed file {}: {}", path, e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Read from position to the current end, delivering every complete line;
+     * an incomplete last line is kept for the next read
+     */
+    private long read(long position, byte[] buffer, ByteArrayOutputStream line, Sink sink) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            file.seek(position);
+            int read;
+            while ((read = file.read(buffer)) > 0) {
+                Instant now = Instant.now();
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        deliver(line.toString(StandardCharsets.UTF_8).strip(), now, sink);
+                        line.reset();
+                    } else {
+                        line.write(buffer[i]);
+                    }
+                }
+                position += read;
+            }
+        }
+        return position;
+    }
+
+    private void deliver(String text, Instant now, Sink sink) {
+        if (text.isEmpty() || text.startsWith("#")) {
+            return;
+        }
+        try {
+            sink.accept(getName(), Tick.parse(text, now));
+        } catch (IllegalArgumentException e) {
+            sink.reject(getName(), text);
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
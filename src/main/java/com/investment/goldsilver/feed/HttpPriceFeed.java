@@ -0,0 +1,80 @@
+package com.investment.goldsilver.feed;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Local HTTP price feed for testing and load generation: POSTed
+ * "METAL,pricePerGram[,ISO-8601 instant]" lines are fed into the pipeline, e.g.
+ * curl --data-binary @ticks.csv -H 'Content-Type: text/plain' .../api/feed/ticks
+ */
+@RestController
+@RequestMapping("/api/feed")
+@ConditionalOnProperty(name = "price-feed.http.enabled", havingValue = "true")
+public class HttpPriceFeed implements PriceFeed {
+
+    private volatile Sink sink;
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public void start(Sink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void stop() {
+        this.sink = null;
+    }
+
+    /**
+     * Feed one tick per line; answers how many were accepted and rejected
+     */
+    @PostMapping(value = "/ticks", consumes = { "text/plain", "text/csv" })
+    public Map<String, Long> ticks(InputStream body) throws IOException {
+        Sink target = sink;
+        if (target == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Price feed is not running");
+        }
+
+        long accepted = 0;
+        long rejected = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    target.accept(getName(), Tick.parse(line, Instant.now()));
+                    accepted++;
+                } catch (IllegalArgumentException e) {
+                    target.reject(getName(), line);
+                    rejected++;
+                }
+            }
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("accepted", accepted);
+        result.put("rejected", rejected);
+        return result;
+    }
+}
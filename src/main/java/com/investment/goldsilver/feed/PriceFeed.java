@@ -0,0 +1,81 @@
+package com.investment.goldsilver.feed;
+
+import com.investment.goldsilver.entity.MetalType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Source of current metal prices. Every PriceFeed bean is started by the
+ * {@link PriceFeedPipeline} and hands its ticks to the given sink, from any
+ * thread and at any rate; the pipeline takes care of coalescing and writing.
+ */
+public interface PriceFeed {
+
+    /**
+     * Name used in logs and as the "feed" metric tag
+     */
+    String getName();
+
+    /**
+     * Start delivering ticks to the sink
+     */
+    void start(Sink sink);
+
+    /**
+     * Stop delivering ticks
+     */
+    void stop();
+
+    /**
+     * Receiver of a feed's ticks
+     */
+    interface Sink {
+
+        /**
+         * Offer a tick; never blocks
+         */
+        void accept(String feed, Tick tick);
+
+        /**
+         * Report input that could not be parsed
+         */
+        void reject(String feed, String input);
+    }
+
+    /**
+     * One observed price of a metal
+     */
+    record Tick(MetalType metalType, BigDecimal pricePerGram, Instant timestamp) {
+
+        /**
+         * Parse a "METAL,pricePerGram[,ISO-8601 instant]" line; the price is
+         * rounded half up to the 2 decimals of its column and the timestamp
+         * defaults to the given time
+         *
+         * @throws IllegalArgumentException if the line is malformed
+         */
+        public static Tick parse(String line, Instant now) {
+            String[] fields = line.split(",");
+            if (fields.length < 2 || fields.length > 3) {
+                throw new IllegalArgumentException("Expected METAL,price[,timestamp]: " + line);
+            }
+            try {
+                MetalType metalType = MetalType.valueOf(fields[0].trim().toUpperCase(Locale.ROOT));
+                BigDecimal pricePerGram = new BigDecimal(fields[1].trim()).setScale(2, RoundingMode.HALF_UP);
+                Instant timestamp = fields.length == 3 ? Instant.parse(fields[2].trim()) : now;
+                if (pricePerGram.signum() <= 0) {
+                    throw new IllegalArgumentException("Price must be greater than 0: " + line);
+                }
+                if (pricePerGram.precision() > 10) {
+                    throw new IllegalArgumentException("Price does not fit DECIMAL(10, 2): " + line);
+                }
+                return new Tick(metalType, pricePerGram, timestamp);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid tick: " + line, e);
+            }
+        }
+    }
+}
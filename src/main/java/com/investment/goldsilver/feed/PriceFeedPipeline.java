@@ -0,0 +1,220 @@
+package com.investment.goldsilver.feed;
+
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.feed.PriceFeed.Tick;
+import com.investment.goldsilver.intraday.IntradayTickStore;
+import com.investment.goldsilver.service.InvestmentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves ticks from every {@link PriceFeed} into the current metal prices.
+ * Every tick that is not stale is also recorded at full resolution in the
+ * {@link IntradayTickStore}.
+ *
+ * The queue between feeds and database holds at most one pending tick per
+ * metal: a newer tick replaces the pending one (coalesced), an older one is
+ * dropped (stale). A single writer thread saves the pending ticks through
+ * {@link InvestmentService#updateMetalPrice} and then waits out
+ * price-feed.write-interval, so however fast the feeds are, the database sees
+ * at most one write per metal per interval and feeds never wait on it.
+ *
+ * Meters: goldsilver.feed.ticks (per feed), goldsilver.feed.dropped (per
+ * reason), goldsilver.feed.writes, goldsilver.feed.pending and
+ * goldsilver.feed.lag (tick timestamp to committed write).
+ */
+@Component
+@Slf4j
+public class PriceFeedPipeline implements PriceFeed.Sink, SmartLifecycle {
+
+    private final List<PriceFeed> feeds;
+    private final InvestmentService investmentService;
+    private final IntradayTickStore intradayTickStore;
+    private final MeterRegistry meterRegistry;
+    private final Duration writeInterval;
+
+    private final AtomicReferenceArray<Tick> pending = new AtomicReferenceArray<>(MetalType.values().length);
+    private final AtomicReferenceArray<Tick> written = new AtomicReferenceArray<>(MetalType.values().length);
+    private final Map<String, Counter> received = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    private final Counter stale;
+    private final Counter malformed;
+    private final Counter unchanged;
+    private final Counter failed;
+    private final Counter writes;
+    private final Timer lag;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public PriceFeedPipeline(List<PriceFeed> feeds, InvestmentService investmentService,
+            IntradayTickStore intradayTickStore, MeterRegistry meterRegistry,
+            @Value("${price-feed.write-interval:1s}") Duration writeInterval) {
+        this.feeds = feeds;
+        this.investmentService = investmentService;
+        this.intradayTickStore = intradayTickStore;
+        this.meterRegistry = meterRegistry;
+        this.writeInterval = writeInterval;
+        this.coalesced = dropped("coalesced");
+        this.stale = dropped("stale");
+        this.malformed = dropped("malformed");
+        this.unchanged = dropped("unchanged");
+        this.failed = dropped("failed");
+        this.writes = Counter.builder("goldsilver.feed.writes")
+                .description("Feed prices written to the database")
+                .register(meterRegistry);
+        this.lag = Timer.builder("goldsilver.feed.lag")
+                .description("Time from a tick's timestamp until its price was committed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("goldsilver.feed.pending", pending, PriceFeedPipeline::countPending)
+                .description("Metals with a tick waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void accept(String feed, Tick tick) {
+        received.computeIfAbsent(feed, name -> Counter.builder("goldsilver.feed.ticks")
+                .description("Ticks received from a price feed")
+                .tag("feed", name)
+                .register(meterRegistry)).increment();
+
+        int m = tick.metalType().ordinal();
+        Tick last = written.get(m);
+        if (last != null && tick.timestamp().isBefore(last.timestamp())) {
+            stale.increment();
+            return;
+        }
+        Tick previous = pending.getAndAccumulate(m, tick, PriceFeedPipeline::newer);
+        if (previous != null && tick.timestamp().isBefore(previous.timestamp())) {
+            stale.increment();
+            return;
+        }
+        intradayTickStore.record(tick.metalType(), tick.pricePerGram(), tick.timestamp());
+        if (previous == null) {
+            LockSupport.unpark(writer);
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    @Override
+    public void reject(String feed, String input) {
+        malformed.increment();
+        log.debug("Rejected malformed {} feed input: {}", feed, input);
+    }
+
+    @Override
+    public void start() {
+        if (feeds.isEmpty()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "price-feed-writer");
+        writer.setDaemon(true);
+        writer.start();
+        for (PriceFeed feed : feeds) {
+            feed.start(this);
+        }
+        log.info("Price feed pipeline started with feeds {}", feeds.stream().map(PriceFeed::getName).toList());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        feeds.forEach(PriceFeed::stop);
+        running = false;
+        Thread thread = writer;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(writeInterval.plusSeconds(5).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (countPending(pending) == 0) {
+                LockSupport.park(this);
+                continue;
+            }
+            long deadline = System.nanoTime() + writeInterval.toNanos();
+            flush();
+            // Let the next burst coalesce
+            long remaining;
+            while (running && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+        flush();
+    }
+
+    private void flush() {
+        for (MetalType metalType : MetalType.values()) {
+            int m = metalType.ordinal();
+            Tick tick = pending.getAndSet(m, null);
+            if (tick == null) {
+                continue;
+            }
+            Tick last = written.get(m);
+            if (last != null && last.pricePerGram().compareTo(tick.pricePerGram()) == 0) {
+                written.set(m, tick);
+                unchanged.increment();
+                continue;
+            }
+            try {
+                investmentService.updateMetalPrice(metalType, tick.pricePerGram());
+                written.set(m, tick);
+                writes.increment();
+                Duration sinceTick = Duration.between(tick.timestamp(), Instant.now());
+                lag.record(sinceTick.isNegative() ? Duration.ZERO : sinceTick);
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Could not write feed price {} for {}: {}", tick.pricePerGram(), metalType, e.getMessage());
+            }
+        }
+    }
+
+    private Counter dropped(String reason) {
+        return Counter.builder("goldsilver.feed.dropped")
+                .description("Ticks that were not written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Tick newer(Tick current, Tick offered) {
+        return current == null || !offered.timestamp().isBefore(current.timestamp()) ? offered : current;
+    }
+
+    private static double countPending(AtomicReferenceArray<Tick> pending) {
+        int count = 0;
+        for (int i = 0; i < pending.length(); i++) {
+            if (pending.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,288 @@
+package com.investment.goldsilver.intraday;
+
+import com.investment.goldsilver.dto.IntradayTicks;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.event.DailyPriceChangedEvent;
+import com.investment.goldsilver.repository.DailyPriceRepository;
+import com.investment.goldsilver.service.PriceRollupService;
+import com.investment.goldsilver.service.PriceSeries;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intraday prices at full resolution. The latest ticks of every metal are
+ * kept in a {@link TickRing}, and each metal's running open/high/low/close
+ * for the current day is rolled up into that day's daily_prices row once the
+ * day is over (on the first tick of the next day, or by the periodic check
+ * when no tick arrives). History keeps one row per day; live views read the
+ * ring.
+ *
+ * With intraday.journal.dir set, every tick is first appended to a
+ * {@link TickJournal} per metal. On startup the journals are replayed to
+ * rebuild the rings and today's bars without reading the database, and days
+ * that ended while the application was down are rolled up as usual.
+ */
+@Component
+@Slf4j
+public class IntradayTickStore {
+
+    private final Map<MetalType, TickRing> rings = new EnumMap<>(MetalType.class);
+    private final Map<MetalType, DayBar> bars = new EnumMap<>(MetalType.class);
+    private final Map<MetalType, TickJournal> journals = new EnumMap<>(MetalType.class);
+    private final DailyPriceRepository dailyPriceRepository;
+    private final PriceRollupService priceRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Duration journalRetention;
+    private final ScheduledExecutorService rollups;
+
+    public IntradayTickStore(DailyPriceRepository dailyPriceRepository, PriceRollupService priceRollupService,
+            PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+            @Value("${intraday.ticks-per-metal:4096}") int ticksPerMetal,
+            @Value("${intraday.rollup-check:1m}") Duration rollupCheck,
+            @Value("${intraday.journal.dir:}") String journalDir,
+            @Value("${intraday.journal.segment-ticks:262144}") int segmentTicks,
+            @Value("${intraday.journal.flush-interval:1s}") Duration flushInterval,
+            @Value("${intraday.journal.retention:7d}") Duration journalRetention) throws IOException {
+        this.dailyPriceRepository = dailyPriceRepository;
+        this.priceRollupService = priceRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.journalRetention = journalRetention;
+        for (MetalType metalType : MetalType.values()) {
+            rings.put(metalType, new TickRing(ticksPerMetal));
+            bars.put(metalType, new DayBar());
+        }
+        this.rollups = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("intraday-rollup-"));
+        if (!journalDir.isBlank()) {
+            for (MetalType metalType : MetalType.values()) {
+                journals.put(metalType, TickJournal.open(Path.of(journalDir, metalType.name()), segmentTicks));
+            }
+            deleteExpiredSegments();
+            replayJournals();
+            this.rollups.scheduleWithFixedDelay(this::flushJournals,
+                    flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        this.rollups.scheduleWithFixedDelay(this::rollUpFinishedDays,
+                rollupCheck.toMillis(), rollupCheck.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record one tick; never blocks on the database
+     */
+    public void record(MetalType metalType, BigDecimal pricePerGram, Instant timestamp) {
+        long price = PriceSeries.toFixed(pricePerGram);
+        TickJournal journal = journals.get(metalType);
+        if (journal != null) {
+            try {
+                journal.append(ChronoUnit.NANOS.between(Instant.EPOCH, timestamp), price);
+            } catch (IOException | ArithmeticException e) {
+                log.warn("Could not journal {} tick at {}: {}", metalType, timestamp, e.getMessage());
+            }
+        }
+        apply(metalType, timestamp, price);
+    }
+
+    /**
+     * Total number of ticks recorded for a metal
+     */
+    public long getTickCount(MetalType metalType) {
+        return rings.get(metalType).count();
+    }
+
+    /**
+     * Up to limit of the latest ticks (oldest first) and today's running bar
+     */
+    public IntradayTicks getLatest(MetalType metalType, int limit) {
+        TickRing ring = rings.get(metalType);
+        int wanted = Math.max(0, Math.min(limit, ring.capacity()));
+        long[] timestamps = new long[wanted];
+        long[] fixed = new long[wanted];
+        int count = ring.latest(wanted, timestamps, fixed);
+
+        double[] prices = new double[count];
+        for (int i = 0; i < count; i++) {
+            prices[i] = fixed[i] / 100.0;
+        }
+        IntradayTicks ticks = new IntradayTicks();
+        ticks.setMetalType(metalType);
+        ticks.setDay(LocalDate.now(zone));
+        ticks.setTimestamps(count == wanted ? timestamps : Arrays.copyOf(timestamps, count));
+        ticks.setPrices(prices);
+        Bar bar = bars.get(metalType).snapshot();
+        if (bar != null && bar.day().equals(ticks.getDay())) {
+            ticks.setOpen(PriceSeries.fromFixed(bar.open()));
+            ticks.setHigh(PriceSeries.fromFixed(bar.high()));
+            ticks.setLow(PriceSeries.fromFixed(bar.low()));
+            ticks.setClose(PriceSeries.fromFixed(bar.close()));
+        }
+        return ticks;
+    }
+
+    /**
+     * Save today's partial bars so a restart does not lose the day's range
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        // Let queued day-end rollups finish first
+        rollups.shutdown();
+        rollups.awaitTermination(10, TimeUnit.SECONDS);
+        for (MetalType metalType : MetalType.values()) {
+            Bar bar = bars.get(metalType).snapshot();
+            if (bar != null) {
+                save(metalType, bar);
+            }
+        }
+        journals.values().forEach(TickJournal::close);
+    }
+
+    private void apply(MetalType metalType, Instant timestamp, long price) {
+        rings.get(metalType).append(timestamp.toEpochMilli(), price);
+        Bar finished = bars.get(metalType).add(LocalDate.ofInstant(timestamp, zone), price);
+        if (finished != null) {
+            rollups.execute(() -> save(metalType, finished));
+        }
+    }
+
+    private void replayJournals() throws IOException {
+        long since = ChronoUnit.NANOS.between(Instant.EPOCH, Instant.now().minus(journalRetention));
+        for (Map.Entry<MetalType, TickJournal> entry : journals.entrySet()) {
+            MetalType metalType = entry.getKey();
+            long started = System.nanoTime();
+            long replayed = entry.getValue().replay(since, (epochNanos, price) -> apply(metalType,
+                    Instant.ofEpochSecond(0, epochNanos), price));
+            log.info("Replayed {} {} ticks from the journal in {} ms", replayed, metalType,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        // The replayed day may already be over
+        rollups.execute(this::rollUpFinishedDays);
+    }
+
+    private void flushJournals() {
+        journals.values().forEach(TickJournal::flush);
+    }
+
+    private void deleteExpiredSegments() {
+        long before = ChronoUnit.NANOS.between(Instant.EPOCH, Instant.now().minus(journalRetention));
+        journals.forEach((metalType, journal) -> {
+            try {
+                int deleted = journal.deleteBefore(before);
+                if (deleted > 0) {
+                    log.info("Deleted {} expired {} journal segments", deleted, metalType);
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete expired {} journal segments: {}", metalType, e.getMessage());
+            }
+        });
+    }
+
+    private void rollUpFinishedDays() {
+        deleteExpiredSegments();
+        LocalDate today = LocalDate.now(zone);
+        for (MetalType metalType : MetalType.values()) {
+            Bar finished = bars.get(metalType).closeBefore(today);
+            if (finished != null) {
+                save(metalType, finished);
+            }
+        }
+    }
+
+    private void save(MetalType metalType, Bar bar) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                dailyPriceRepository.upsertOhlc(metalType.name(), bar.day(), PriceSeries.fromFixed(bar.open()),
+                        PriceSeries.fromFixed(bar.high()), PriceSeries.fromFixed(bar.low()),
+                        PriceSeries.fromFixed(bar.close()));
+                priceRollupService.refresh(metalType, bar.day());
+                eventPublisher.publishEvent(
+                        new DailyPriceChangedEvent(metalType, bar.day(), PriceSeries.fromFixed(bar.close())));
+            });
+            log.info("Rolled up {} {} ticks of {} into open/high/low/close", bar.count(), metalType, bar.day());
+        } catch (RuntimeException e) {
+            log.warn("Could not roll up {} ticks of {}: {}", metalType, bar.day(), e.getMessage());
+        }
+    }
+
+    /**
+     * Open/high/low/close of one day, in fixed-point units
+     */
+    record Bar(LocalDate day, long open, long high, long low, long close, long count) {
+    }
+
+    /**
+     * Running bar of the current day of one metal
+     */
+    private static final class DayBar {
+
+        private LocalDate day;
+        private LocalDate rolledUp; // last day handed out for rollup
+        private long open;
+        private long high;
+        private long low;
+        private long close;
+        private long count;
+
+        /**
+         * Add a tick; returns the previous day's bar when this tick starts a new day
+         */
+        synchronized Bar add(LocalDate tickDay, long price) {
+            Bar finished = null;
+            if ((day != null && tickDay.isBefore(day)) || (rolledUp != null && !tickDay.isAfter(rolledUp))) {
+                return null; // late tick of a day already rolled up; it is only kept in the ring
+            }
+            if (day == null || tickDay.isAfter(day)) {
+                if (day != null) {
+                    finished = snapshot();
+                    rolledUp = day;
+                }
+                day = tickDay;
+                open = high = low = price;
+                count = 0;
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            count++;
+            return finished;
+        }
+
+        /**
+         * Take the bar if it belongs to a day before the given one
+         */
+        synchronized Bar closeBefore(LocalDate today) {
+            if (day == null || !day.isBefore(today)) {
+                return null;
+            }
+            Bar finished = snapshot();
+            rolledUp = day;
+            day = null;
+            return finished;
+        }
+
+        synchronized Bar snapshot() {
+            return day == null ? null : new Bar(day, open, high, low, close, count);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.investment.goldsilver.intraday;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary journal of the ticks of one metal, kept in a directory of
+ * memory-mapped segment files.
+ *
+ * Every segment holds a fixed number of 24 byte records (epoch nanos,
+ * fixed-point price, checksum), little-endian, and is named after the sequence
+ * number of its first record. A full segment is forced to disk and the next
+ * one is started; the active segment is forced by {@link #flush()}. Segments
+ * are preallocated, so the first record that is zero or fails its checksum
+ * marks the end: on open the active segment is scanned up to there and
+ * anything after it (a record torn by a crash) is cleared. Replay reads the
+ * mapped segments in place without copying.
+ */
+@Slf4j
+public final class TickJournal implements AutoCloseable {
+
+    static final int RECORD_BYTES = 24;
+    private static final String SUFFIX = ".ticks";
+    private static final long CHECK_SEED = 0x676f6c6473696c76L;
+
+    /**
+     * Receives replayed ticks
+     */
+    @FunctionalInterface
+    public interface TickConsumer {
+        void accept(long epochNanos, long price);
+    }
+
+    private final Path directory;
+    private final int segmentTicks;
+    private final List<Path> segments = new ArrayList<>();
+    private long segmentBase; // sequence of the active segment's first record
+    private int position; // records written to the active segment
+    private volatile MappedByteBuffer active;
+
+    private TickJournal(Path directory, int segmentTicks) {
+        this.directory = directory;
+        this.segmentTicks = segmentTicks;
+    }
+
+    /**
+     * Open (or create) the journal in a directory and recover its tail
+     */
+    public static TickJournal open(Path directory, int segmentTicks) throws IOException {
+        if (segmentTicks < 1 || (long) segmentTicks * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between 1 and "
+                    + Integer.MAX_VALUE / RECORD_BYTES + " ticks");
+        }
+        Files.createDirectories(directory);
+        TickJournal journal = new TickJournal(directory, segmentTicks);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .forEach(journal.segments::add);
+        }
+        if (journal.segments.isEmpty()) {
+            journal.startSegment(0);
+        } else {
+            journal.recover(journal.segments.get(journal.segments.size() - 1));
+        }
+        return journal;
+    }
+
+    /**
+     * Total number of ticks in the retained segments
+     */
+    public synchronized long count() {
+        long first = segments.isEmpty() ? segmentBase : baseOf(segments.get(0));
+        return segmentBase + position - first;
+    }
+
+    /**
+     * Append one tick, starting a new segment when the active one is full
+     */
+    public synchronized void append(long epochNanos, long price) throws IOException {
+        if (position == segmentTicks) {
+            active.force();
+            startSegment(segmentBase + segmentTicks);
+        }
+        int offset = position * RECORD_BYTES;
+        MappedByteBuffer buffer = active;
+        buffer.putLong(offset, epochNanos);
+        buffer.putLong(offset + 8, price);
+        // The checksum goes last, so a record is only valid once complete
+        buffer.putLong(offset + 16, check(epochNanos, price));
+        position++;
+    }
+
+    /**
+     * Write the active segment's pages to disk
+     */
+    public void flush() {
+        MappedByteBuffer buffer = active;
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Replay every tick at or after fromEpochNanos in journal order
+     *
+     * @return the number of ticks replayed
+     */
+    public long replay(long fromEpochNanos, TickConsumer consumer) throws IOException {
+        List<Path> files;
+        synchronized (this) {
+            files = List.copyOf(segments);
+        }
+        long replayed = 0;
+        for (int i = 0; i < files.size(); i++) {
+            // Skip whole segments that end before the start
+            if (i + 1 < files.size() && lastEpochNanos(files.get(i)) < fromEpochNanos) {
+                continue;
+            }
+            ByteBuffer buffer = map(files.get(i), FileChannel.MapMode.READ_ONLY);
+            for (int offset = 0; offset + RECORD_BYTES <= buffer.capacity(); offset += RECORD_BYTES) {
+                long epochNanos = buffer.getLong(offset);
+                long price = buffer.getLong(offset + 8);
+                if (epochNanos == 0 || buffer.getLong(offset + 16) != check(epochNanos, price)) {
+                    break;
+                }
+                if (epochNanos >= fromEpochNanos) {
+                    consumer.accept(epochNanos, price);
+                    replayed++;
+                }
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Delete the segments (except the active one) whose ticks all precede
+     * beforeEpochNanos
+     *
+     * @return the number of segments deleted
+     */
+    public synchronized int deleteBefore(long beforeEpochNanos) throws IOException {
+        int deleted = 0;
+        while (segments.size() > 1 && lastEpochNanos(segments.get(0)) < beforeEpochNanos) {
+            Files.deleteIfExists(segments.remove(0));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        active = null;
+    }
+
+    private void startSegment(long base) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", base, SUFFIX));
+        active = map(file, FileChannel.MapMode.READ_WRITE);
+        if (segments.isEmpty() || !segments.get(segments.size() - 1).equals(file)) {
+            segments.add(file);
+        }
+        segmentBase = base;
+        position = 0;
+    }
+
+    /**
+     * Find the end of the last segment and clear whatever follows it
+     */
+    private void recover(Path file) throws IOException {
+        startSegment(baseOf(file));
+        MappedByteBuffer buffer = active;
+        int valid = 0;
+        while (valid < segmentTicks) {
+            int offset = valid * RECORD_BYTES;
+            long epochNanos = buffer.getLong(offset);
+            if (epochNanos == 0 || buffer.getLong(offset + 16) != check(epochNanos, buffer.getLong(offset + 8))) {
+                break;
+            }
+            valid++;
+        }
+        int cleared = 0;
+        for (int offset = valid * RECORD_BYTES; offset < segmentTicks * RECORD_BYTES; offset += 8) {
+            if (buffer.getLong(offset) != 0) {
+                buffer.putLong(offset, 0);
+                cleared++;
+            }
+        }
+        if (cleared > 0) {
+            buffer.force();
+            log.warn("Cleared a torn tail after {} ticks in journal segment {}", valid, file);
+        }
+        position = valid;
+    }
+
+    private long lastEpochNanos(Path file) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Full segments end with a valid record; search back otherwise
+            for (long offset = size / RECORD_BYTES * RECORD_BYTES - RECORD_BYTES; offset >= 0;
+                    offset -= RECORD_BYTES) {
+                record.clear();
+                channel.read(record, offset);
+                long epochNanos = record.getLong(0);
+                if (epochNanos != 0 && record.getLong(16) == check(epochNanos, record.getLong(8))) {
+                    return epochNanos;
+                }
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        long size = (long) segmentTicks * RECORD_BYTES;
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            size = Math.min(size, Files.size(file));
+        }
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] { StandardOpenOption.READ }
+                : new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.CREATE };
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            MappedByteBuffer buffer = channel.map(mode, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static long baseOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static long check(long epochNanos, long price) {
+        long h = (epochNanos ^ CHECK_SEED) * 0x9E3779B97F4A7C15L;
+        h = Long.rotateLeft(h, 29) ^ price;
+        return h * 0xBF58476D1CE4E5B9L | 1;
+    }
+}
@@ -0,0 +1,106 @@
+package com.investment.goldsilver.intraday;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size ring of the most recent ticks of one metal (epoch millis and
+ * fixed-point price), preallocated and lock-free.
+ *
+ * Any number of threads may append: each claims the next sequence number with
+ * one atomic increment and publishes its slot seqlock-style, so readers never
+ * block writers and never return a half-written tick. Reads copy into
+ * caller-provided arrays and allocate nothing. Writers are assumed not to lap
+ * each other, i.e. no writer stalls for a whole ring's worth of appends.
+ */
+public final class TickRing {
+
+    private static final long WRITING = -1;
+
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLongArray published; // sequence stored in each slot, WRITING while being written
+    private final AtomicLongArray epochMillis;
+    private final AtomicLongArray prices;
+
+    /**
+     * @param capacity number of ticks kept, rounded up to a power of two
+     */
+    public TickRing(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        this.epochMillis = new AtomicLongArray(size);
+        this.prices = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, WRITING);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Total number of ticks ever appended
+     */
+    public long count() {
+        return next.get();
+    }
+
+    /**
+     * Append a tick, overwriting the oldest once the ring is full
+     */
+    public void append(long epochMilli, long price) {
+        long sequence = next.getAndIncrement();
+        int slot = (int) sequence & mask;
+        published.set(slot, WRITING);
+        VarHandle.storeStoreFence();
+        epochMillis.setOpaque(slot, epochMilli);
+        prices.setOpaque(slot, price);
+        published.setRelease(slot, sequence);
+    }
+
+    /**
+     * Copy up to n of the latest ticks, oldest first, into the given arrays
+     * (each at least n long)
+     *
+     * @return the number of ticks copied
+     */
+    public int latest(int n, long[] epochMillisOut, long[] pricesOut) {
+        int wanted = Math.min(n, capacity());
+        long newest = next.get() - 1;
+        int copied = 0;
+        // Walk back from the newest tick until n are collected or a slot was overwritten
+        for (long sequence = newest; sequence >= 0 && copied < wanted; sequence--) {
+            int slot = (int) sequence & mask;
+            if (published.getAcquire(slot) != sequence) {
+                if (copied == 0 && sequence == newest) {
+                    continue; // newest is still being written
+                }
+                break;
+            }
+            long epochMilli = epochMillis.getOpaque(slot);
+            long price = prices.getOpaque(slot);
+            VarHandle.loadLoadFence();
+            if (published.getOpaque(slot) != sequence) {
+                break;
+            }
+            epochMillisOut[copied] = epochMilli;
+            pricesOut[copied] = price;
+            copied++;
+        }
+        reverse(epochMillisOut, copied);
+        reverse(pricesOut, copied);
+        return copied;
+    }
+
+    private static void reverse(long[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
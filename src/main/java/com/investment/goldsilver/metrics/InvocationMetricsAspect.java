@@ -0,0 +1,101 @@
+package com.investment.goldsilver.metrics;
+
+import com.investment.goldsilver.entity.DailyPrice;
+import com.investment.goldsilver.entity.Investment;
+import com.investment.goldsilver.entity.MetalPrice;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.entity.PortfolioAggregate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public InvestmentService method and every repository method,
+ * tagged with the metal the call is about.
+ *
+ * goldsilver.service.calls    tags: method, metalType, exception
+ * goldsilver.repository.calls tags: repository, method, metalType, exception
+ *
+ * The metal is taken from the first MetalType argument, or from the first
+ * entity argument; "none" when the call is not metal specific.
+ * Stream-returning repository methods are timed until the stream is returned.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class InvocationMetricsAspect {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.investment.goldsilver.service.InvestmentService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "goldsilver.service.calls", Tags.of("method", joinPoint.getSignature().getName()));
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(), this::repositoryName);
+        return time(joinPoint, "goldsilver.repository.calls",
+                Tags.of("repository", repository, "method", joinPoint.getSignature().getName()));
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, Tags tags) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(name, tags.and(
+                    "metalType", metalTypeOf(joinPoint.getArgs()),
+                    "exception", exception)));
+        }
+    }
+
+    private static String metalTypeOf(Object[] args) {
+        for (Object arg : args) {
+            MetalType metalType = null;
+            if (arg instanceof MetalType type) {
+                metalType = type;
+            } else if (arg instanceof Investment investment) {
+                metalType = investment.getMetalType();
+            } else if (arg instanceof DailyPrice dailyPrice) {
+                metalType = dailyPrice.getMetalType();
+            } else if (arg instanceof MetalPrice metalPrice) {
+                metalType = metalPrice.getMetalType();
+            } else if (arg instanceof PortfolioAggregate aggregate) {
+                metalType = aggregate.getMetalType();
+            }
+            if (metalType != null) {
+                return metalType.name();
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Simple name of the application repository interface behind a proxy
+     */
+    private String repositoryName(Class<?> proxyClass) {
+        for (Class<?> candidate : proxyClass.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(candidate)) {
+                return candidate.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
@@ -0,0 +1,89 @@
+package com.investment.goldsilver.metrics;
+
+import com.investment.goldsilver.datasource.RoutingContext;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.service.PortfolioAggregateService;
+import com.investment.goldsilver.service.PriceSeriesStore;
+import com.investment.goldsilver.service.PriceStreamService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the view render timer, the per-request SQL tracking and the
+ * per-metal size gauges: goldsilver.ledger.investments (from the running
+ * totals, one row read) and goldsilver.price.history.length (from the
+ * in-memory series), plus the price stream's subscriber gauge and coalesced
+ * message counter
+ */
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final ViewRenderMetricsInterceptor viewRenderMetricsInterceptor;
+    private final PortfolioAggregateService portfolioAggregateService;
+    private final PriceSeriesStore priceSeriesStore;
+    private final PriceStreamService priceStreamService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(viewRenderMetricsInterceptor);
+    }
+
+    /**
+     * Hook the SQL statement tracker and JDBC timing into every Hibernate session
+     */
+    @Bean
+    public static HibernatePropertiesCustomizer sqlTrackingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementTracker());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionEventListener.class.getName());
+        };
+    }
+
+    /**
+     * Let work handed to the application task executor and the dashboard
+     * executor count towards the submitting request's SQL stats and keep its
+     * read-your-writes pin
+     */
+    @Bean
+    public static TaskDecorator sqlStatsTaskDecorator() {
+        return task -> SqlStatementTracker.propagate(RoutingContext.propagate(task));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerGauges() {
+        for (MetalType metalType : MetalType.values()) {
+            Gauge.builder("goldsilver.ledger.investments", portfolioAggregateService,
+                            service -> service.getSummaries().get(metalType).getInvestmentCount())
+                    .description("Number of investments in the ledger")
+                    .tag("metalType", metalType.name())
+                    .register(meterRegistry);
+            Gauge.builder("goldsilver.price.history.length", priceSeriesStore,
+                            store -> store.getSeries(metalType).size())
+                    .description("Number of daily prices in the price history")
+                    .tag("metalType", metalType.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("goldsilver.price.stream.subscribers", priceStreamService, PriceStreamService::getSubscriberCount)
+                .description("Open price streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("goldsilver.price.stream.coalesced", priceStreamService,
+                        PriceStreamService::getCoalescedCount)
+                .description("Price stream messages replaced by a newer one before they were sent")
+                .register(meterRegistry);
+    }
+}
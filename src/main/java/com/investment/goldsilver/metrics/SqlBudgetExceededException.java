@@ -0,0 +1,12 @@
+package com.investment.goldsilver.metrics;
+
+/**
+ * Thrown when a request issues more SQL statements than its budget allows
+ * and the budget mode is FAIL
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(int statementCount, int budget, String sql) {
+        super("SQL statement budget exceeded: statement " + statementCount + " of " + budget + " allowed: " + sql);
+    }
+}
@@ -0,0 +1,138 @@
+package com.investment.goldsilver.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Tracks the SQL statements of every request: adds a Server-Timing header
+ * with the SQL breakdown, warns about statements repeated within the request
+ * (likely N+1) and enforces the per-endpoint statement budget.
+ *
+ * The header is added when the response starts being written, so statements
+ * issued after that (e.g. while streaming an export) are only counted in the
+ * budget and the log. Work handed to the application task executor or the
+ * dashboard executor counts towards the request (see
+ * MetricsConfig#sqlStatsTaskDecorator); other threads are not tracked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStatementTracker.begin();
+        stats.setBudget(() -> properties.limitFor(pattern(request)),
+                properties.getMode() == SqlBudgetProperties.Mode.FAIL);
+        request.setAttribute(SqlStats.ATTRIBUTE, stats);
+
+        ServerTimingResponse wrapped = new ServerTimingResponse(response, stats);
+        try {
+            chain.doFilter(request, wrapped);
+        } finally {
+            SqlStatementTracker.end();
+            wrapped.addServerTiming();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStats stats) {
+        String pattern = pattern(request);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+        int limit = properties.limitFor(pattern);
+        if (stats.getStatementCount() > limit) {
+            log.warn("{} issued {} SQL statements (budget {}) in {} ms", endpoint, stats.getStatementCount(),
+                    limit, String.format("%.2f", stats.getJdbcMillis()));
+        }
+        for (Map.Entry<String, Integer> repeated : stats.getRepeatedStatements(properties.getRepeatedThreshold())) {
+            log.warn("{} ran the same statement {} times (possible N+1): {}", endpoint, repeated.getValue(),
+                    repeated.getKey());
+        }
+    }
+
+    private static String pattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : null;
+    }
+
+    /**
+     * Adds the Server-Timing header just before the response is committed
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStats stats;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                addHeader(SERVER_TIMING, stats.toServerTiming());
+            }
+            added = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            addServerTiming();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            addServerTiming();
+            super.sendError(status, message);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.investment.goldsilver.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request SQL statement budget (sql-budget.*)
+ */
+@Data
+@ConfigurationProperties("sql-budget")
+public class SqlBudgetProperties {
+
+    public enum Mode { WARN, FAIL }
+
+    private static final Pattern VARIABLE_REGEX = Pattern.compile("\\{(\\w+):[^/]*}");
+
+    private boolean enabled = true;
+
+    /**
+     * WARN logs requests over budget; FAIL aborts the statement that goes over
+     */
+    private Mode mode = Mode.WARN;
+
+    /**
+     * Statements allowed for endpoints without an entry in endpoints
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Statements allowed per endpoint, keyed by the mapped path pattern with
+     * variable regexes left out (e.g. sql-budget.endpoints.[/{metal}]=6 for
+     * /{metal:[a-z]+}); the binder cannot read brackets inside a key
+     */
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+    /**
+     * Executions of the same statement in one request reported as a possible N+1
+     */
+    private int repeatedThreshold = 5;
+
+    /**
+     * Budget for a mapped path pattern (null when the request was not mapped)
+     */
+    public int limitFor(String pattern) {
+        return pattern == null ? defaultLimit
+                : endpoints.getOrDefault(VARIABLE_REGEX.matcher(pattern).replaceAll("{$1}"), defaultLimit);
+    }
+}
@@ -0,0 +1,101 @@
+package com.investment.goldsilver.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that records every SQL statement into the
+ * {@link SqlStats} bound to the current thread (when one is bound).
+ * Also the entry point for capturing statements around a block of code,
+ * e.g. in integration tests:
+ *
+ * <pre>
+ * SqlStats stats = SqlStatementTracker.capture(() -> investmentService.getDashboardStats());
+ * assertThat(stats.getStatementCount()).isLessThanOrEqualTo(2);
+ * </pre>
+ */
+public class SqlStatementTracker implements StatementInspector {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<SqlStats.Kind> LAST_KIND = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        SqlStats stats = CURRENT.get();
+        if (stats != null) {
+            LAST_KIND.set(stats.recordStatement(sql));
+        }
+        return sql;
+    }
+
+    /**
+     * Add JDBC time to the statement this thread inspected last
+     */
+    static void recordExecution(long nanos) {
+        SqlStats stats = CURRENT.get();
+        if (stats != null) {
+            SqlStats.Kind kind = LAST_KIND.get();
+            stats.recordExecution(kind != null ? kind : SqlStats.Kind.OTHER, nanos);
+        }
+    }
+
+    /**
+     * Start recording on this thread
+     */
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stop recording on this thread
+     */
+    public static void end() {
+        CURRENT.remove();
+        LAST_KIND.remove();
+    }
+
+    /**
+     * Stats being recorded on this thread (null when not recording)
+     */
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run a block and return the statements it issued on this thread
+     */
+    public static SqlStats capture(Runnable block) {
+        SqlStats outer = CURRENT.get();
+        SqlStats stats = begin();
+        try {
+            block.run();
+            return stats;
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    /**
+     * Wrap a task so it records into the stats of the submitting thread
+     * (used as the task executor's decorator)
+     */
+    public static Runnable propagate(Runnable task) {
+        SqlStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                end();
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.investment.goldsilver.metrics;
+
+import jakarta.servlet.ServletRequest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements issued by one HTTP request (or one captured block):
+ * counts and JDBC time in total and per statement kind, and how often each
+ * distinct statement ran (to spot N+1 patterns).
+ * Usually recorded by the request thread, but shared with the threads the
+ * request fans out to; see {@link SqlStatementTracker}.
+ */
+public class SqlStats {
+
+    /**
+     * Request attribute holding the stats of the current request
+     */
+    public static final String ATTRIBUTE = SqlStats.class.getName();
+
+    public enum Kind { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    private final Map<Kind, long[]> byKind = new EnumMap<>(Kind.class); // {count, nanos}
+    private final Map<String, Integer> byStatement = new LinkedHashMap<>();
+    private int statementCount;
+    private long jdbcNanos;
+    private IntSupplier budget = () -> Integer.MAX_VALUE;
+    private boolean failOnExceed;
+
+    /**
+     * Stats recorded for a request by {@link SqlBudgetFilter} (null when not tracked)
+     */
+    public static SqlStats of(ServletRequest request) {
+        return (SqlStats) request.getAttribute(ATTRIBUTE);
+    }
+
+    synchronized Kind recordStatement(String sql) {
+        statementCount++;
+        Kind kind = kindOf(sql);
+        byKind.computeIfAbsent(kind, k -> new long[2])[0]++;
+        byStatement.merge(sql, 1, Integer::sum);
+        if (failOnExceed && statementCount > budget.getAsInt()) {
+            throw new SqlBudgetExceededException(statementCount, budget.getAsInt(), sql);
+        }
+        return kind;
+    }
+
+    synchronized void recordExecution(Kind kind, long nanos) {
+        jdbcNanos += nanos;
+        byKind.computeIfAbsent(kind, k -> new long[2])[1] += nanos;
+    }
+
+    void setBudget(IntSupplier budget, boolean failOnExceed) {
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    public synchronized int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Number of statements of one kind
+     */
+    public synchronized int getStatementCount(Kind kind) {
+        long[] totals = byKind.get(kind);
+        return totals == null ? 0 : (int) totals[0];
+    }
+
+    public synchronized double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+
+    /**
+     * Executions per distinct SQL text, in first-seen order
+     */
+    public synchronized Map<String, Integer> getStatements() {
+        return new LinkedHashMap<>(byStatement);
+    }
+
+    /**
+     * Statements that ran at least the given number of times
+     */
+    public synchronized List<Map.Entry<String, Integer>> getRepeatedStatements(int threshold) {
+        return byStatement.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Server-Timing header value: total SQL time and count, then one entry per kind
+     */
+    public synchronized String toServerTiming() {
+        StringBuilder header = new StringBuilder()
+                .append("sql;dur=").append(String.format(Locale.ROOT, "%.2f", getJdbcMillis()))
+                .append(";desc=\"").append(statementCount).append(" statements\"");
+        byKind.forEach((kind, totals) -> header
+                .append(", sql-").append(kind.name().toLowerCase(Locale.ROOT))
+                .append(";dur=").append(String.format(Locale.ROOT, "%.2f", totals[1] / 1_000_000.0))
+                .append(";desc=\"").append(totals[0]).append('"'));
+        return header.toString();
+    }
+
+    private static Kind kindOf(String sql) {
+        String head = sql.stripLeading();
+        for (Kind kind : Kind.values()) {
+            if (head.regionMatches(true, 0, kind.name(), 0, kind.name().length())) {
+                return kind;
+            }
+        }
+        // MERGE and WITH ... statements are counted as OTHER
+        return Kind.OTHER;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT, "%d statements in %.2f ms", statementCount, getJdbcMillis());
+    }
+}
@@ -0,0 +1,36 @@
+package com.investment.goldsilver.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC execution time to the {@link SqlStats} of the current thread.
+ * Hibernate creates one instance per session (hibernate.session.events.auto).
+ */
+public class SqlTimingSessionEventListener implements SessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatementTracker.recordExecution(System.nanoTime() - started);
+    }
+}
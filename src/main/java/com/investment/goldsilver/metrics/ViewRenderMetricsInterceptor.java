@@ -0,0 +1,45 @@
+package com.investment.goldsilver.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Times template rendering separately from the controller work
+ * (goldsilver.view.render, tagged by view name). The controller returns
+ * before postHandle and the view has rendered by afterCompletion.
+ */
+@Component
+@RequiredArgsConstructor
+public class ViewRenderMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = ViewRenderMetricsInterceptor.class.getName() + ".sample";
+    private static final String VIEW_ATTRIBUTE = ViewRenderMetricsInterceptor.class.getName() + ".view";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null
+                && !modelAndView.getViewName().startsWith("redirect:")) {
+            request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample) {
+            sample.stop(meterRegistry.timer("goldsilver.view.render",
+                    "view", (String) request.getAttribute(VIEW_ATTRIBUTE),
+                    "exception", ex == null ? "none" : ex.getClass().getSimpleName()));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.investment.goldsilver.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drop the CHECK constraints listing the metal types of the time, which
+ * Hibernate created with tables it created under ddl-auto=update and never
+ * widened (data.sql used to drop them on every boot). Their names depend on
+ * the database (investments_metal_type_check on PostgreSQL, generated ones on
+ * H2), so they are looked up in the information schema. No-op on databases
+ * created by V1.
+ *
+ * Registered as a bean, which Spring Boot hands to Flyway with the SQL
+ * migrations in db/migration.
+ */
+@Slf4j
+@Component
+public class V2__Drop_metal_type_checks extends BaseJavaMigration {
+
+    private static final String METAL_TYPE_CHECKS = "SELECT tc.table_name, tc.constraint_name " +
+            "FROM information_schema.table_constraints tc " +
+            "JOIN information_schema.check_constraints cc " +
+            "ON cc.constraint_schema = tc.constraint_schema AND cc.constraint_name = tc.constraint_name " +
+            "WHERE tc.constraint_type = 'CHECK' AND tc.table_schema = CURRENT_SCHEMA " +
+            "AND UPPER(tc.table_name) IN ('INVESTMENTS', 'METAL_PRICES', 'DAILY_PRICES', " +
+            "'PORTFOLIO_AGGREGATES', 'PRICE_ROLLUPS') " +
+            "AND UPPER(cc.check_clause) LIKE '%METAL_TYPE%' AND cc.check_clause LIKE '%''GOLD''%'";
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        List<Map<String, Object>> checks = jdbc.queryForList(METAL_TYPE_CHECKS);
+        for (Map<String, Object> check : checks) {
+            String table = (String) check.get("table_name");
+            String constraint = (String) check.get("constraint_name");
+            log.info("Dropping metal type check {} of {}", constraint, table);
+            jdbc.execute("ALTER TABLE \"" + table + "\" DROP CONSTRAINT \"" + constraint + "\"");
+        }
+    }
+}
@@ -1,30 +1,134 @@
 package com.investment.goldsilver.repository;
 
+import com.investment.goldsilver.dto.PriceCandle;
 import com.investment.goldsilver.entity.DailyPrice;
 import com.investment.goldsilver.entity.MetalType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DailyPriceRepository extends JpaRepository<DailyPrice, Long> {
+public interface DailyPriceRepository extends JpaRepository<DailyPrice, Long>, DailyPriceUpserts {
+
+    /**
+     * Query cache region of the cacheable lookups below; invalidated by
+     * Hibernate whenever daily_prices is written through it (writes that
+     * bypass it, i.e. JDBC batches, must evict it)
+     */
+    String QUERY_REGION = "daily-price-queries";
 
     /**
      * Find all daily prices for a specific metal, ordered by date (oldest first,
      * newest at bottom)
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
     List<DailyPrice> findByMetalTypeOrderByPriceDateAsc(MetalType metalType);
 
+    /**
+     * Stream all daily prices for a metal (oldest first); must be consumed
+     * inside a transaction
+     * Ordered by the full (metal_type, price_date) key so rows come straight
+     * off the unique index instead of being sorted
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DailyPrice d WHERE d.metalType = :metalType ORDER BY d.metalType, d.priceDate")
+    Stream<DailyPrice> streamByMetalType(MetalType metalType);
+
+    /**
+     * Find the first page of daily prices for a metal (oldest first)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
+    @Query("SELECT d FROM DailyPrice d WHERE d.metalType = :metalType ORDER BY d.metalType, d.priceDate")
+    List<DailyPrice> findFirstPage(MetalType metalType, Limit limit);
+
+    /**
+     * Find the page of daily prices for a metal that follows the given date
+     * (oldest first)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
+    @Query("SELECT d FROM DailyPrice d WHERE d.metalType = :metalType AND d.priceDate > :after " +
+            "ORDER BY d.metalType, d.priceDate")
+    List<DailyPrice> findPageAfter(MetalType metalType, LocalDate after, Limit limit);
+
+    /**
+     * Stream daily prices of the given metals within a date range (by metal,
+     * then oldest first) without materializing them; must be consumed inside
+     * a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DailyPrice d WHERE d.metalType IN :metalTypes " +
+            "AND d.priceDate BETWEEN :from AND :to ORDER BY d.metalType, d.priceDate")
+    Stream<DailyPrice> streamForExport(Collection<MetalType> metalTypes, LocalDate from, LocalDate to);
+
+    /**
+     * Read the daily prices of a metal within [from, to] as chart points
+     * (oldest first); days without intraday ticks use their price throughout
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
+    @Query("SELECT new com.investment.goldsilver.dto.PriceCandle(d.priceDate, " +
+            "COALESCE(d.openPrice, d.pricePerGram), COALESCE(d.highPrice, d.pricePerGram), " +
+            "COALESCE(d.lowPrice, d.pricePerGram), d.pricePerGram, d.pricePerGram, 1) " +
+            "FROM DailyPrice d WHERE d.metalType = :metalType AND d.priceDate BETWEEN :from AND :to " +
+            "ORDER BY d.metalType, d.priceDate")
+    List<PriceCandle> findCandles(MetalType metalType, LocalDate from, LocalDate to);
+
+    /**
+     * Read every daily price of a metal as chart points (oldest first)
+     */
+    @Query("SELECT new com.investment.goldsilver.dto.PriceCandle(d.priceDate, " +
+            "COALESCE(d.openPrice, d.pricePerGram), COALESCE(d.highPrice, d.pricePerGram), " +
+            "COALESCE(d.lowPrice, d.pricePerGram), d.pricePerGram, d.pricePerGram, 1) " +
+            "FROM DailyPrice d WHERE d.metalType = :metalType ORDER BY d.metalType, d.priceDate")
+    List<PriceCandle> findAllCandles(MetalType metalType);
+
+    /**
+     * Count the daily prices of a metal
+     */
+    long countByMetalType(MetalType metalType);
+
     /**
      * Find price for a specific metal on a specific date
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
     Optional<DailyPrice> findByMetalTypeAndPriceDate(MetalType metalType, LocalDate priceDate);
 
     /**
      * Find latest price for a specific metal
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
     Optional<DailyPrice> findFirstByMetalTypeOrderByPriceDateDesc(MetalType metalType);
 }
@@ -0,0 +1,22 @@
+package com.investment.goldsilver.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Single-statement daily price upserts, in the SQL of the configured
+ * database ({@link UpsertSql})
+ */
+public interface DailyPriceUpserts {
+
+    /**
+     * Insert or update the price of a metal on a date ({@link UpsertSql#dailyPrice})
+     */
+    int upsert(String metalType, LocalDate priceDate, BigDecimal pricePerGram);
+
+    /**
+     * Merge a day's open/high/low/close ({@link UpsertSql#dailyOhlc})
+     */
+    int upsertOhlc(String metalType, LocalDate priceDate, BigDecimal openPrice, BigDecimal highPrice,
+            BigDecimal lowPrice, BigDecimal closePrice);
+}
@@ -0,0 +1,45 @@
+package com.investment.goldsilver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Runs the upserts as native queries that declare daily_prices as the only
+ * table written, so Hibernate evicts just the daily price caches instead of
+ * every cache region
+ */
+@RequiredArgsConstructor
+class DailyPriceUpsertsImpl implements DailyPriceUpserts {
+
+    private final UpsertSql upsertSql;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int upsert(String metalType, LocalDate priceDate, BigDecimal pricePerGram) {
+        return nativeUpdate(upsertSql.dailyPrice(), metalType, priceDate, pricePerGram);
+    }
+
+    @Override
+    public int upsertOhlc(String metalType, LocalDate priceDate, BigDecimal openPrice, BigDecimal highPrice,
+            BigDecimal lowPrice, BigDecimal closePrice) {
+        return nativeUpdate(upsertSql.dailyOhlc(), metalType, priceDate, openPrice, highPrice, lowPrice,
+                closePrice);
+    }
+
+    private int nativeUpdate(String sql, Object... parameters) {
+        Query query = entityManager.createNativeQuery(sql)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "daily_prices");
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -1,13 +1,22 @@
 package com.investment.goldsilver.repository;
 
+import com.investment.goldsilver.dto.HoldingChange;
+import com.investment.goldsilver.dto.MetalSummary;
 import com.investment.goldsilver.entity.Investment;
 import com.investment.goldsilver.entity.MetalType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvestmentRepository extends JpaRepository<Investment, Long> {
@@ -17,22 +26,58 @@ public interface InvestmentRepository extends JpaRepository<Investment, Long> {
      */
     List<Investment> findByMetalType(MetalType metalType);
 
+    /**
+     * Find the first page of investments for a metal (newest first)
+     * Pages are ordered by the full (metal_type, purchase_date DESC, id DESC)
+     * index key so they are read off the index instead of being sorted
+     */
+    @Query("SELECT i FROM Investment i WHERE i.metalType = :metalType " +
+            "ORDER BY i.metalType, i.purchaseDate DESC, i.id DESC")
+    List<Investment> findFirstPage(MetalType metalType, Limit limit);
+
+    /**
+     * Find the page of investments for a metal that follows the given
+     * (purchase date, id) key (newest first)
+     * The redundant purchaseDate bound lets the index range start at the key
+     */
+    @Query("SELECT i FROM Investment i WHERE i.metalType = :metalType AND i.purchaseDate <= :purchaseDate AND " +
+            "(i.purchaseDate < :purchaseDate OR (i.purchaseDate = :purchaseDate AND i.id < :id)) " +
+            "ORDER BY i.metalType, i.purchaseDate DESC, i.id DESC")
+    List<Investment> findPageAfter(MetalType metalType, LocalDate purchaseDate, Long id, Limit limit);
+
+    /**
+     * Stream investments of the given metals within a purchase date range
+     * (oldest first) without materializing them; must be consumed inside a
+     * transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Investment i WHERE i.metalType IN :metalTypes " +
+            "AND i.purchaseDate BETWEEN :from AND :to ORDER BY i.purchaseDate, i.id")
+    Stream<Investment> streamForExport(Collection<MetalType> metalTypes, LocalDate from, LocalDate to);
+
     /**
      * Find all investments ordered by purchase date (newest first)
      */
     List<Investment> findAllByOrderByPurchaseDateDesc();
 
     /**
-     * Calculate total amount invested for a specific metal
+     * Calculate invested amount, grams, value (grams × stored price) and count
+     * for every metal in one grouped query
      */
-    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Investment i WHERE i.metalType = :metalType")
-    BigDecimal getTotalInvestedByMetalType(MetalType metalType);
+    @Query("SELECT new com.investment.goldsilver.dto.MetalSummary(i.metalType, SUM(i.amount), SUM(i.grams), " +
+            "SUM(i.grams * i.todayPricePerGram), COUNT(i)) FROM Investment i GROUP BY i.metalType")
+    List<MetalSummary> summarizeByMetalType();
 
     /**
-     * Calculate total grams purchased for a specific metal
+     * Sum grams and amount bought per metal and purchase date (oldest first)
      */
-    @Query("SELECT COALESCE(SUM(i.grams), 0) FROM Investment i WHERE i.metalType = :metalType")
-    BigDecimal getTotalGramsByMetalType(MetalType metalType);
+    @Query("SELECT new com.investment.goldsilver.dto.HoldingChange(i.metalType, i.purchaseDate, " +
+            "SUM(i.grams), SUM(i.amount)) FROM Investment i " +
+            "GROUP BY i.metalType, i.purchaseDate ORDER BY i.purchaseDate")
+    List<HoldingChange> findHoldingChanges();
 
     /**
      * Get total invested across all metals
@@ -2,16 +2,40 @@ package com.investment.goldsilver.repository;
 
 import com.investment.goldsilver.entity.MetalPrice;
 import com.investment.goldsilver.entity.MetalType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MetalPriceRepository extends JpaRepository<MetalPrice, Long> {
 
+    /**
+     * Query cache region of the cacheable lookups below; invalidated by
+     * Hibernate whenever metal_prices is written through it
+     */
+    String QUERY_REGION = "metal-price-queries";
+
     /**
      * Find current price for a specific metal type
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
     Optional<MetalPrice> findByMetalType(MetalType metalType);
+
+    /**
+     * Find the current price of every metal
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION)
+    })
+    List<MetalPrice> findAll();
 }
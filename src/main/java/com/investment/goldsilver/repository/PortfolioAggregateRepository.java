@@ -0,0 +1,53 @@
+package com.investment.goldsilver.repository;
+
+import com.investment.goldsilver.dto.MetalSummary;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.entity.PortfolioAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PortfolioAggregateRepository extends JpaRepository<PortfolioAggregate, Long>,
+        PortfolioAggregateUpserts {
+
+    /**
+     * Find the running totals for a specific metal
+     */
+    Optional<PortfolioAggregate> findByMetalType(MetalType metalType);
+
+    /**
+     * Find the running totals for a metal and lock the row until the
+     * transaction ends, so no delta can be applied in between
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PortfolioAggregate a WHERE a.metalType = :metalType")
+    Optional<PortfolioAggregate> findForUpdate(MetalType metalType);
+
+    /**
+     * Read the running totals of every metal as summaries in one query
+     */
+    @Query("SELECT new com.investment.goldsilver.dto.MetalSummary(a.metalType, a.totalAmount, a.totalGrams, " +
+            "a.totalCurrentValue, a.investmentCount) FROM PortfolioAggregate a")
+    List<MetalSummary> findSummaries();
+
+    /**
+     * Add a delta to the running totals of a metal in a single UPDATE statement,
+     * so concurrent writers never lose each other's changes
+     */
+    @Modifying
+    @Query("UPDATE PortfolioAggregate a SET " +
+            "a.totalGrams = a.totalGrams + :grams, " +
+            "a.totalAmount = a.totalAmount + :amount, " +
+            "a.totalCurrentValue = a.totalCurrentValue + :currentValue, " +
+            "a.investmentCount = a.investmentCount + :count " +
+            "WHERE a.metalType = :metalType")
+    int applyDelta(MetalType metalType, BigDecimal grams, BigDecimal amount, BigDecimal currentValue, long count);
+}
@@ -0,0 +1,14 @@
+package com.investment.goldsilver.repository;
+
+/**
+ * Creates aggregate rows without racing on the unique metal type
+ * ({@link UpsertSql#aggregateRow})
+ */
+public interface PortfolioAggregateUpserts {
+
+    /**
+     * Insert a zero row for a metal unless it already has one; returns the
+     * number of rows inserted
+     */
+    int insertIfMissing(String metalType);
+}
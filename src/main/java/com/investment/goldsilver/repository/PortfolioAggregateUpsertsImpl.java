@@ -0,0 +1,27 @@
+package com.investment.goldsilver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * Runs the insert as a native query that declares portfolio_aggregates as the
+ * only table written
+ */
+@RequiredArgsConstructor
+class PortfolioAggregateUpsertsImpl implements PortfolioAggregateUpserts {
+
+    private final UpsertSql upsertSql;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIfMissing(String metalType) {
+        return entityManager.createNativeQuery(upsertSql.aggregateRow())
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "portfolio_aggregates")
+                .setParameter(1, metalType)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,49 @@
+package com.investment.goldsilver.repository;
+
+import com.investment.goldsilver.dto.PriceCandle;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.entity.PriceResolution;
+import com.investment.goldsilver.entity.PriceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PriceRollupRepository extends JpaRepository<PriceRollup, Long>, PriceRollupUpserts {
+
+    /**
+     * Remove a period that no longer has any daily price
+     */
+    @Modifying
+    @Query("DELETE FROM PriceRollup r WHERE r.metalType = :metalType AND r.resolution = :resolution " +
+            "AND r.periodStart = :periodStart")
+    int deletePeriod(MetalType metalType, PriceResolution resolution, LocalDate periodStart);
+
+    /**
+     * Remove every period of a metal
+     */
+    @Modifying
+    @Query("DELETE FROM PriceRollup r WHERE r.metalType = :metalType")
+    int deleteByMetalType(MetalType metalType);
+
+    /**
+     * Total number of days covered by the periods of one resolution
+     */
+    @Query("SELECT COALESCE(SUM(r.dayCount), 0) FROM PriceRollup r " +
+            "WHERE r.metalType = :metalType AND r.resolution = :resolution")
+    long countDays(MetalType metalType, PriceResolution resolution);
+
+    /**
+     * Read the periods of one resolution starting within [from, to] as chart
+     * points (oldest first)
+     */
+    @Query("SELECT new com.investment.goldsilver.dto.PriceCandle(r.periodStart, r.openPrice, r.highPrice, " +
+            "r.lowPrice, r.closePrice, r.averagePrice, r.dayCount) FROM PriceRollup r " +
+            "WHERE r.metalType = :metalType AND r.resolution = :resolution " +
+            "AND r.periodStart BETWEEN :from AND :to ORDER BY r.periodStart")
+    List<PriceCandle> findCandles(MetalType metalType, PriceResolution resolution, LocalDate from, LocalDate to);
+}
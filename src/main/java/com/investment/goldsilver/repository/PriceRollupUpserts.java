@@ -0,0 +1,18 @@
+package com.investment.goldsilver.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Single-statement rollup upserts, in the SQL of the configured database
+ * ({@link UpsertSql})
+ */
+public interface PriceRollupUpserts {
+
+    /**
+     * Insert or update one period ({@link UpsertSql#priceRollup})
+     */
+    int upsert(String metalType, String resolution, LocalDate periodStart, BigDecimal openPrice,
+            BigDecimal highPrice, BigDecimal lowPrice, BigDecimal closePrice, BigDecimal averagePrice,
+            int dayCount);
+}
@@ -0,0 +1,40 @@
+package com.investment.goldsilver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Runs the upsert as a native query that declares price_rollups as the only
+ * table written, so the price caches of the second-level cache stay valid
+ */
+@RequiredArgsConstructor
+class PriceRollupUpsertsImpl implements PriceRollupUpserts {
+
+    private final UpsertSql upsertSql;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int upsert(String metalType, String resolution, LocalDate periodStart, BigDecimal openPrice,
+            BigDecimal highPrice, BigDecimal lowPrice, BigDecimal closePrice, BigDecimal averagePrice,
+            int dayCount) {
+        return entityManager.createNativeQuery(upsertSql.priceRollup())
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "price_rollups")
+                .setParameter(1, metalType)
+                .setParameter(2, resolution)
+                .setParameter(3, periodStart)
+                .setParameter(4, openPrice)
+                .setParameter(5, highPrice)
+                .setParameter(6, lowPrice)
+                .setParameter(7, closePrice)
+                .setParameter(8, averagePrice)
+                .setParameter(9, dayCount)
+                .executeUpdate();
+    }
+}
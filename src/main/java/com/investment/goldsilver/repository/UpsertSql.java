@@ -0,0 +1,151 @@
+package com.investment.goldsilver.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-statement insert-or-update SQL for the price and aggregate tables,
+ * in the form the configured database runs safely: INSERT ... ON CONFLICT on
+ * PostgreSQL, whose MERGE needs version 15 and raises a unique violation when
+ * two transactions insert the same key concurrently; standard SQL MERGE
+ * elsewhere (H2).
+ *
+ * The parameters are the same in both forms and are listed per statement.
+ */
+@Component
+public class UpsertSql {
+
+    private static final String DAILY_PRICE_MERGE = "MERGE INTO daily_prices d " +
+            "USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS DATE), CAST(? AS DECIMAL(10, 2)))) " +
+            "AS s (metal_type, price_date, price_per_gram) " +
+            "ON d.metal_type = s.metal_type AND d.price_date = s.price_date " +
+            "WHEN MATCHED THEN UPDATE SET price_per_gram = s.price_per_gram, " +
+            "high_price = CASE WHEN d.high_price < s.price_per_gram THEN s.price_per_gram ELSE d.high_price END, " +
+            "low_price = CASE WHEN d.low_price > s.price_per_gram THEN s.price_per_gram ELSE d.low_price END, " +
+            "close_price = CASE WHEN d.close_price IS NULL THEN NULL ELSE s.price_per_gram END " +
+            "WHEN NOT MATCHED THEN INSERT (metal_type, price_date, price_per_gram) " +
+            "VALUES (s.metal_type, s.price_date, s.price_per_gram)";
+
+    private static final String DAILY_PRICE_ON_CONFLICT = "INSERT INTO daily_prices AS d " +
+            "(metal_type, price_date, price_per_gram) " +
+            "VALUES (CAST(? AS VARCHAR(20)), CAST(? AS DATE), CAST(? AS DECIMAL(10, 2))) " +
+            "ON CONFLICT (metal_type, price_date) DO UPDATE SET price_per_gram = EXCLUDED.price_per_gram, " +
+            "high_price = CASE WHEN d.high_price < EXCLUDED.price_per_gram " +
+            "THEN EXCLUDED.price_per_gram ELSE d.high_price END, " +
+            "low_price = CASE WHEN d.low_price > EXCLUDED.price_per_gram " +
+            "THEN EXCLUDED.price_per_gram ELSE d.low_price END, " +
+            "close_price = CASE WHEN d.close_price IS NULL THEN NULL ELSE EXCLUDED.price_per_gram END";
+
+    private static final String DAILY_OHLC_MERGE = "MERGE INTO daily_prices d " +
+            "USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS DATE), CAST(? AS DECIMAL(10, 2)), " +
+            "CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)))) " +
+            "AS s (metal_type, price_date, open_price, high_price, low_price, close_price) " +
+            "ON d.metal_type = s.metal_type AND d.price_date = s.price_date " +
+            "WHEN MATCHED THEN UPDATE SET price_per_gram = s.close_price, " +
+            "open_price = COALESCE(d.open_price, s.open_price), " +
+            "high_price = GREATEST(COALESCE(d.high_price, s.high_price), s.high_price), " +
+            "low_price = LEAST(COALESCE(d.low_price, s.low_price), s.low_price), " +
+            "close_price = s.close_price " +
+            "WHEN NOT MATCHED THEN INSERT (metal_type, price_date, price_per_gram, " +
+            "open_price, high_price, low_price, close_price) " +
+            "VALUES (s.metal_type, s.price_date, s.close_price, " +
+            "s.open_price, s.high_price, s.low_price, s.close_price)";
+
+    private static final String DAILY_OHLC_ON_CONFLICT = "INSERT INTO daily_prices AS d " +
+            "(metal_type, price_date, price_per_gram, open_price, high_price, low_price, close_price) " +
+            "SELECT s.metal_type, s.price_date, s.close_price, " +
+            "s.open_price, s.high_price, s.low_price, s.close_price " +
+            "FROM (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS DATE), CAST(? AS DECIMAL(10, 2)), " +
+            "CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)))) " +
+            "AS s (metal_type, price_date, open_price, high_price, low_price, close_price) " +
+            "ON CONFLICT (metal_type, price_date) DO UPDATE SET price_per_gram = EXCLUDED.close_price, " +
+            "open_price = COALESCE(d.open_price, EXCLUDED.open_price), " +
+            "high_price = GREATEST(COALESCE(d.high_price, EXCLUDED.high_price), EXCLUDED.high_price), " +
+            "low_price = LEAST(COALESCE(d.low_price, EXCLUDED.low_price), EXCLUDED.low_price), " +
+            "close_price = EXCLUDED.close_price";
+
+    private static final String ROLLUP_MERGE = "MERGE INTO price_rollups r " +
+            "USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(10)), CAST(? AS DATE), " +
+            "CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), " +
+            "CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), CAST(? AS INTEGER))) " +
+            "AS s (metal_type, resolution, period_start, open_price, high_price, low_price, close_price, " +
+            "average_price, day_count) " +
+            "ON r.metal_type = s.metal_type AND r.resolution = s.resolution AND r.period_start = s.period_start " +
+            "WHEN MATCHED THEN UPDATE SET open_price = s.open_price, high_price = s.high_price, " +
+            "low_price = s.low_price, close_price = s.close_price, average_price = s.average_price, " +
+            "day_count = s.day_count " +
+            "WHEN NOT MATCHED THEN INSERT (metal_type, resolution, period_start, open_price, high_price, " +
+            "low_price, close_price, average_price, day_count) " +
+            "VALUES (s.metal_type, s.resolution, s.period_start, s.open_price, s.high_price, s.low_price, " +
+            "s.close_price, s.average_price, s.day_count)";
+
+    private static final String ROLLUP_ON_CONFLICT = "INSERT INTO price_rollups " +
+            "(metal_type, resolution, period_start, open_price, high_price, low_price, close_price, " +
+            "average_price, day_count) " +
+            "VALUES (CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(10)), CAST(? AS DATE), " +
+            "CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), " +
+            "CAST(? AS DECIMAL(10, 2)), CAST(? AS DECIMAL(10, 2)), CAST(? AS INTEGER)) " +
+            "ON CONFLICT (metal_type, resolution, period_start) DO UPDATE SET " +
+            "open_price = EXCLUDED.open_price, high_price = EXCLUDED.high_price, " +
+            "low_price = EXCLUDED.low_price, close_price = EXCLUDED.close_price, " +
+            "average_price = EXCLUDED.average_price, day_count = EXCLUDED.day_count";
+
+    private static final String AGGREGATE_ROW_MERGE = "MERGE INTO portfolio_aggregates a " +
+            "USING (VALUES (CAST(? AS VARCHAR(255)))) AS s (metal_type) " +
+            "ON a.metal_type = s.metal_type " +
+            "WHEN NOT MATCHED THEN INSERT (metal_type, total_grams, total_amount, total_current_value, " +
+            "investment_count) VALUES (s.metal_type, 0, 0, 0, 0)";
+
+    private static final String AGGREGATE_ROW_ON_CONFLICT = "INSERT INTO portfolio_aggregates " +
+            "(metal_type, total_grams, total_amount, total_current_value, investment_count) " +
+            "VALUES (CAST(? AS VARCHAR(255)), 0, 0, 0, 0) " +
+            "ON CONFLICT (metal_type) DO NOTHING";
+
+    private final boolean onConflict;
+
+    public UpsertSql(EntityManagerFactory entityManagerFactory) {
+        this.onConflict = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Insert or update the price of a metal on a date. The price becomes the
+     * day's close: a day with intraday open/high/low/close keeps its open and
+     * has its range widened to the price, so the candle stays consistent
+     * (a day without them keeps none).
+     * Parameters: metal type, price date, price per gram
+     */
+    public String dailyPrice() {
+        return onConflict ? DAILY_PRICE_ON_CONFLICT : DAILY_PRICE_MERGE;
+    }
+
+    /**
+     * Merge one day's intraday open/high/low/close into its daily price; the
+     * close becomes the day's price. Merging with what is already stored
+     * (e.g. a partial day saved before a restart) keeps the earliest open and
+     * the widest range.
+     * Parameters: metal type, price date, open, high, low, close
+     */
+    public String dailyOhlc() {
+        return onConflict ? DAILY_OHLC_ON_CONFLICT : DAILY_OHLC_MERGE;
+    }
+
+    /**
+     * Insert or update one rollup period
+     * Parameters: metal type, resolution, period start, open, high, low,
+     * close, average, day count
+     */
+    public String priceRollup() {
+        return onConflict ? ROLLUP_ON_CONFLICT : ROLLUP_MERGE;
+    }
+
+    /**
+     * Insert a zero aggregate row for a metal unless it already has one
+     * Parameters: metal type
+     */
+    public String aggregateRow() {
+        return onConflict ? AGGREGATE_ROW_ON_CONFLICT : AGGREGATE_ROW_MERGE;
+    }
+}
@@ -0,0 +1,26 @@
+package com.investment.goldsilver.service;
+
+import lombok.Getter;
+import org.springframework.core.NestedExceptionUtils;
+
+/**
+ * Thrown when a chunk of a bulk import can't be written. The chunks before it
+ * are already committed, so the import can be resumed from the first line
+ * of the failed chunk.
+ */
+@Getter
+public class BulkImportException extends RuntimeException {
+
+    private final long firstLine;
+    private final long lastLine;
+    private final long rowsCommitted;
+
+    public BulkImportException(long firstLine, long lastLine, long rowsCommitted, Throwable cause) {
+        super("Writing CSV lines " + firstLine + "-" + lastLine + " failed (" + rowsCommitted
+                + " rows before line " + firstLine + " are committed): "
+                + NestedExceptionUtils.getMostSpecificCause(cause).getMessage(), cause);
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+        this.rowsCommitted = rowsCommitted;
+    }
+}
@@ -0,0 +1,245 @@
+package com.investment.goldsilver.service;
+
+import com.investment.goldsilver.dto.ImportReport;
+import com.investment.goldsilver.entity.DailyPrice;
+import com.investment.goldsilver.entity.Investment;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.event.DailyPricesImportedEvent;
+import com.investment.goldsilver.event.LedgerChangedEvent;
+import com.investment.goldsilver.repository.UpsertSql;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams large CSV files into the investments and daily_prices tables.
+ * Lines are read in chunks, each chunk is parsed and validated in parallel and
+ * then written with one JDBC batch inside its own transaction, so memory use
+ * depends on the chunk size and not on the file size.
+ * An import is therefore not atomic: if writing a chunk fails, the chunks
+ * before it stay committed and a {@link BulkImportException} names the line
+ * range that was rolled back. Re-running the file is safe for daily prices
+ * (upserted); for investments, resume from the reported first line.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportService {
+
+    private static final String INSERT_INVESTMENT_SQL = "INSERT INTO investments " +
+            "(metal_type, purchase_date, amount, grams, today_price_per_gram) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UpsertSql upsertSql;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final PortfolioAggregateService portfolioAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    /**
+     * Import investments from CSV
+     * Columns: metalType,purchaseDate,amount,grams,todayPricePerGram
+     */
+    public ImportReport importInvestments(InputStream csv) {
+        Set<MetalType> touched = EnumSet.noneOf(MetalType.class);
+        ImportReport report;
+        try {
+            report = importCsv(csv, this::parseInvestment, chunk -> {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_INVESTMENT_SQL, chunk, chunk.size(), (ps, investment) -> {
+                        ps.setString(1, investment.getMetalType().name());
+                        ps.setObject(2, investment.getPurchaseDate());
+                        ps.setBigDecimal(3, investment.getAmount());
+                        ps.setBigDecimal(4, investment.getGrams());
+                        ps.setBigDecimal(5, investment.getTodayPricePerGram());
+                    });
+                    portfolioAggregateService.addAll(chunk);
+                });
+                chunk.forEach(investment -> touched.add(investment.getMetalType()));
+            });
+        } finally {
+            // Chunks that were already committed stay committed even if a later one fails
+            if (!touched.isEmpty()) {
+                eventPublisher.publishEvent(new LedgerChangedEvent(touched));
+            }
+        }
+        log.info("Imported {} investments ({} rejected) at {} rows/s",
+                report.getRowsImported(), report.getRowsRejected(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    /**
+     * Import (insert or update) daily prices from CSV
+     * Columns: metalType,priceDate,pricePerGram
+     */
+    public ImportReport importDailyPrices(InputStream csv) {
+        Set<MetalType> touched = EnumSet.noneOf(MetalType.class);
+        ImportReport report;
+        try {
+            report = importCsv(csv, this::parseDailyPrice, chunk -> {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        upsertSql.dailyPrice(), chunk, chunk.size(), (ps, price) -> {
+                            ps.setString(1, price.getMetalType().name());
+                            ps.setObject(2, price.getPriceDate());
+                            ps.setBigDecimal(3, price.getPricePerGram());
+                        }));
+                chunk.forEach(price -> touched.add(price.getMetalType()));
+            });
+        } finally {
+            if (!touched.isEmpty()) {
+                eventPublisher.publishEvent(new DailyPricesImportedEvent(touched));
+            }
+        }
+        log.info("Imported {} daily prices ({} rejected) at {} rows/s",
+                report.getRowsImported(), report.getRowsRejected(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private <T> ImportReport importCsv(InputStream csv, Function<String[], T> parser, Consumer<List<T>> writer) {
+        ImportReport report = new ImportReport();
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<RawLine> lines = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                lines.add(new RawLine(lineNumber, line));
+                if (lines.size() == chunkSize) {
+                    processChunk(lines, parser, writer, report);
+                    lines.clear();
+                }
+            }
+            if (!lines.isEmpty()) {
+                processChunk(lines, parser, writer, report);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV input", e);
+        }
+
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private <T> void processChunk(List<RawLine> lines, Function<String[], T> parser, Consumer<List<T>> writer,
+            ImportReport report) {
+        // Parsing and bean validation are CPU bound and independent per row
+        List<ParsedRow<T>> parsed = lines.parallelStream()
+                .map(raw -> parse(raw, parser))
+                .collect(Collectors.toList());
+
+        List<T> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow<T> row : parsed) {
+            if (row.error() == null) {
+                valid.add(row.value());
+            } else {
+                report.setRowsRejected(report.getRowsRejected() + 1);
+                if (report.getErrors().size() < maxReportedErrors) {
+                    report.getErrors().add(new ImportReport.RowError(row.line(), row.error()));
+                }
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                writer.accept(valid);
+            } catch (DataAccessException | TransactionException e) {
+                throw new BulkImportException(lines.get(0).line(), lines.get(lines.size() - 1).line(),
+                        report.getRowsImported(), e);
+            }
+        }
+        report.setRowsRead(report.getRowsRead() + lines.size());
+        report.setRowsImported(report.getRowsImported() + valid.size());
+    }
+
+    private <T> ParsedRow<T> parse(RawLine raw, Function<String[], T> parser) {
+        try {
+            String[] fields = raw.text().split(",", -1);
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].trim();
+            }
+            T value = parser.apply(fields);
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                return new ParsedRow<>(raw.line(), null, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+            return new ParsedRow<>(raw.line(), value, null);
+        } catch (RuntimeException e) {
+            return new ParsedRow<>(raw.line(), null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private Investment parseInvestment(String[] fields) {
+        expectColumns(fields, 5);
+        Investment investment = new Investment();
+        investment.setMetalType(MetalType.valueOf(fields[0].toUpperCase()));
+        investment.setPurchaseDate(LocalDate.parse(fields[1]));
+        investment.setAmount(new BigDecimal(fields[2]));
+        investment.setGrams(new BigDecimal(fields[3]));
+        investment.setTodayPricePerGram(new BigDecimal(fields[4]));
+        return investment;
+    }
+
+    private DailyPrice parseDailyPrice(String[] fields) {
+        expectColumns(fields, 3);
+        DailyPrice dailyPrice = new DailyPrice();
+        dailyPrice.setMetalType(MetalType.valueOf(fields[0].toUpperCase()));
+        dailyPrice.setPriceDate(LocalDate.parse(fields[1]));
+        dailyPrice.setPricePerGram(new BigDecimal(fields[2]));
+        return dailyPrice;
+    }
+
+    private static void expectColumns(String[] fields, int expected) {
+        if (fields.length != expected) {
+            throw new IllegalArgumentException("expected " + expected + " columns but found " + fields.length);
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        String first = line.split(",", 2)[0].trim();
+        return first.equalsIgnoreCase("metalType") || first.equalsIgnoreCase("metal_type");
+    }
+
+    private record RawLine(long line, String text) {
+    }
+
+    private record ParsedRow<T>(long line, T value, String error) {
+    }
+}
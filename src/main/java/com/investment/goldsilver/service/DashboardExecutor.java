@@ -0,0 +1,63 @@
+package com.investment.goldsilver.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the dashboard's off-thread database reads, apart from the shared
+ * application task executor: a fixed pool with a bounded queue
+ * (dashboard.fan-out-threads, dashboard.fan-out-queue), or a virtual thread
+ * per read when virtual threads are active. Reads beyond the queue are
+ * rejected (TaskRejectedException) instead of waiting out the deadline.
+ *
+ * Tasks carry the submitting request's SQL stats and read-your-writes pin,
+ * and cancelling a returned future interrupts its thread.
+ */
+@Component
+public class DashboardExecutor {
+
+    private final AsyncTaskExecutor executor;
+
+    public DashboardExecutor(Environment environment, TaskDecorator taskDecorator,
+            @Value("${dashboard.fan-out-threads:4}") int threads,
+            @Value("${dashboard.fan-out-queue:16}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtualThreads = new SimpleAsyncTaskExecutor("dashboard-");
+            virtualThreads.setVirtualThreads(true);
+            virtualThreads.setTaskDecorator(taskDecorator);
+            this.executor = virtualThreads;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("dashboard-");
+            pool.setCorePoolSize(threads);
+            pool.setMaxPoolSize(threads);
+            pool.setQueueCapacity(queueCapacity);
+            pool.setTaskDecorator(taskDecorator);
+            pool.initialize();
+            this.executor = pool;
+        }
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtualThreads) {
+            virtualThreads.close();
+        }
+    }
+}
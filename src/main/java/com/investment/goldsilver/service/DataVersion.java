@@ -0,0 +1,77 @@
+package com.investment.goldsilver.service;
+
+import com.investment.goldsilver.event.DailyPriceChangedEvent;
+import com.investment.goldsilver.event.DailyPricesImportedEvent;
+import com.investment.goldsilver.event.LedgerChangedEvent;
+import com.investment.goldsilver.event.MetalPriceChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version counters for the ledger (investments) and for prices.
+ * Counters are bumped after the writing transaction commits; the boot id
+ * keeps versions from an earlier process from ever matching.
+ *
+ * The counters only see writes made through this JVM. The application is
+ * therefore single-instance: with several instances behind a load balancer,
+ * or with writes made directly in the database, a version (and the ETags and
+ * rendered pages keyed by it) can stay current while the data has changed.
+ */
+@Component
+public class DataVersion {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong ledgerVersion = new AtomicLong();
+    private final AtomicLong priceVersion = new AtomicLong();
+
+    public long getLedgerVersion() {
+        return ledgerVersion.get();
+    }
+
+    public long getPriceVersion() {
+        return priceVersion.get();
+    }
+
+    /**
+     * Tag identifying the current ledger state
+     */
+    public String ledgerTag() {
+        return bootId + "-l" + ledgerVersion.get();
+    }
+
+    /**
+     * Tag identifying the current price state
+     */
+    public String priceTag() {
+        return bootId + "-p" + priceVersion.get();
+    }
+
+    /**
+     * Tag identifying the current ledger and price state together
+     */
+    public String combinedTag() {
+        return bootId + "-l" + ledgerVersion.get() + "-p" + priceVersion.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        ledgerVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMetalPriceChanged(MetalPriceChangedEvent event) {
+        priceVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyPriceChanged(DailyPriceChangedEvent event) {
+        priceVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyPricesImported(DailyPricesImportedEvent event) {
+        priceVersion.incrementAndGet();
+    }
+}
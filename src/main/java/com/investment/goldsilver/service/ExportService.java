@@ -0,0 +1,126 @@
+package com.investment.goldsilver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.investment.goldsilver.entity.DailyPrice;
+import com.investment.goldsilver.entity.Investment;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.repository.DailyPriceRepository;
+import com.investment.goldsilver.repository.InvestmentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Writes the investments and daily_prices tables as CSV or NDJSON.
+ * Rows are streamed from the database with a fetch size and detached as soon
+ * as they are written, so heap use stays flat regardless of the row count.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    /**
+     * Earliest/latest dates used when no range is given
+     */
+    public static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    public static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final InvestmentRepository investmentRepository;
+    private final DailyPriceRepository dailyPriceRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Export investments of the given metals purchased within [from, to]
+     */
+    @Transactional(readOnly = true)
+    public void exportInvestments(OutputStream out, Format format, Collection<MetalType> metalTypes,
+            LocalDate from, LocalDate to) throws IOException {
+        try (Stream<Investment> rows = investmentRepository.streamForExport(metalTypes, from, to)) {
+            write(out, format, rows, "id,metalType,purchaseDate,amount,grams,todayPricePerGram",
+                    (writer, i) -> writer
+                            .append(String.valueOf(i.getId())).append(',')
+                            .append(i.getMetalType().name()).append(',')
+                            .append(i.getPurchaseDate().toString()).append(',')
+                            .append(i.getAmount().toPlainString()).append(',')
+                            .append(i.getGrams().toPlainString()).append(',')
+                            .append(i.getTodayPricePerGram().toPlainString()));
+        }
+    }
+
+    /**
+     * Export daily prices of the given metals dated within [from, to]
+     */
+    @Transactional(readOnly = true)
+    public void exportDailyPrices(OutputStream out, Format format, Collection<MetalType> metalTypes,
+            LocalDate from, LocalDate to) throws IOException {
+        try (Stream<DailyPrice> rows = dailyPriceRepository.streamForExport(metalTypes, from, to)) {
+            write(out, format, rows, "id,metalType,priceDate,pricePerGram",
+                    (writer, d) -> writer
+                            .append(String.valueOf(d.getId())).append(',')
+                            .append(d.getMetalType().name()).append(',')
+                            .append(d.getPriceDate().toString()).append(',')
+                            .append(d.getPricePerGram().toPlainString()));
+        }
+    }
+
+    private <T> void write(OutputStream out, Format format, Stream<T> rows, String csvHeader,
+            CsvRowWriter<T> csvRowWriter) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        try {
+            if (format == Format.CSV) {
+                writer.write(csvHeader);
+                writer.write('\n');
+                rows.forEach(row -> {
+                    try {
+                        csvRowWriter.write(writer, row);
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(row);
+                });
+            } else {
+                SequenceWriter sequenceWriter = objectMapper.writer()
+                        .withRootValueSeparator("\n")
+                        .writeValues(writer);
+                rows.forEach(row -> {
+                    try {
+                        sequenceWriter.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(row);
+                });
+                sequenceWriter.flush();
+                writer.write('\n');
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    @FunctionalInterface
+    private interface CsvRowWriter<T> {
+        void write(Writer writer, T row) throws IOException;
+    }
+}
@@ -2,6 +2,8 @@ package com.investment.goldsilver.service;
 
 import com.investment.goldsilver.dto.DashboardStats;
 import com.investment.goldsilver.dto.InvestmentDto;
+import com.investment.goldsilver.dto.KeysetPage;
+import com.investment.goldsilver.dto.MetalSummary;
 import com.investment.goldsilver.entity.DailyPrice;
 import com.investment.goldsilver.entity.Investment;
 import com.investment.goldsilver.entity.MetalPrice;
@@ -9,16 +11,36 @@ import com.investment.goldsilver.entity.MetalType;
 import com.investment.goldsilver.repository.DailyPriceRepository;
 import com.investment.goldsilver.repository.InvestmentRepository;
 import com.investment.goldsilver.repository.MetalPriceRepository;
+import com.investment.goldsilver.event.DailyPriceChangedEvent;
+import com.investment.goldsilver.event.LedgerChangedEvent;
+import com.investment.goldsilver.event.MetalPriceChangedEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,10 +51,26 @@ public class InvestmentService {
     private final InvestmentRepository investmentRepository;
     private final MetalPriceRepository metalPriceRepository;
     private final DailyPriceRepository dailyPriceRepository;
+    private final PortfolioAggregateService portfolioAggregateService;
+    private final PriceRollupService priceRollupService;
+    private final PriceCache priceCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final DashboardExecutor dashboardExecutor;
+
+    @Value("${dashboard.fan-out-timeout:2s}")
+    private Duration fanOutTimeout;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:200}")
+    private int maxPageSize;
 
     /**
      * Get all investments ordered by date (newest first)
      */
+    @Transactional(readOnly = true)
     public List<Investment> getAllInvestments() {
         return investmentRepository.findAllByOrderByPurchaseDateDesc();
     }
@@ -40,26 +78,53 @@ public class InvestmentService {
     /**
      * Get investments by metal type
      */
+    @Transactional(readOnly = true)
     public List<Investment> getInvestmentsByMetalType(MetalType metalType) {
         return investmentRepository.findByMetalType(metalType);
     }
 
     /**
-     * Get investments by metal type as DTOs with profit/loss calculations
-     * Uses the price stored with each investment (not current market price)
+     * Get one page of investments for a metal as DTOs (newest first)
+     * The cursor is the "purchaseDate:id" key of the last row of the previous page
      */
-    public List<InvestmentDto> getInvestmentDtosByMetalType(MetalType metalType) {
-        List<Investment> investments = investmentRepository.findByMetalType(metalType);
+    @Transactional(readOnly = true)
+    public KeysetPage<InvestmentDto> getInvestmentDtoPage(MetalType metalType, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Investment> investments = null;
+        if (StringUtils.hasText(cursor)) {
+            try {
+                int separator = cursor.lastIndexOf(':');
+                investments = investmentRepository.findPageAfter(metalType,
+                        LocalDate.parse(cursor.substring(0, separator)),
+                        Long.valueOf(cursor.substring(separator + 1)), limit);
+            } catch (RuntimeException e) {
+                log.debug("Ignoring invalid investment cursor '{}'", cursor);
+            }
+        }
+        if (investments == null) {
+            investments = investmentRepository.findFirstPage(metalType, limit);
+        }
 
-        // Convert to DTOs - each investment has its own stored price
-        return investments.stream()
+        // Each investment has its own stored price
+        List<InvestmentDto> items = investments.stream()
+                .limit(pageSize)
                 .map(inv -> InvestmentDto.fromEntity(inv, null))
                 .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (investments.size() > pageSize) {
+            InvestmentDto last = items.get(items.size() - 1);
+            nextCursor = last.getPurchaseDate() + ":" + last.getId();
+        }
+        return new KeysetPage<>(items, nextCursor);
     }
 
     /**
      * Get investment by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Investment> getInvestmentById(Long id) {
         return investmentRepository.findById(id);
     }
@@ -71,7 +136,10 @@ public class InvestmentService {
     public Investment saveInvestment(Investment investment) {
         log.info("Saving investment: {} {} worth ₹{}",
                 investment.getGrams(), investment.getMetalType(), investment.getAmount());
-        return investmentRepository.save(investment);
+        Investment saved = investmentRepository.save(investment);
+        portfolioAggregateService.add(saved);
+        eventPublisher.publishEvent(new LedgerChangedEvent(EnumSet.of(saved.getMetalType())));
+        return saved;
     }
 
     /**
@@ -82,13 +150,20 @@ public class InvestmentService {
         Investment existing = investmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Investment not found with id: " + id));
 
+        // Take the old values out of the totals before they are overwritten
+        portfolioAggregateService.remove(existing);
+        MetalType previousMetalType = existing.getMetalType();
+
         existing.setMetalType(investment.getMetalType());
         existing.setPurchaseDate(investment.getPurchaseDate());
         existing.setAmount(investment.getAmount());
         existing.setGrams(investment.getGrams());
         existing.setTodayPricePerGram(investment.getTodayPricePerGram());
 
-        return investmentRepository.save(existing);
+        Investment saved = investmentRepository.save(existing);
+        portfolioAggregateService.add(saved);
+        eventPublisher.publishEvent(new LedgerChangedEvent(EnumSet.of(previousMetalType, saved.getMetalType())));
+        return saved;
     }
 
     /**
@@ -97,92 +172,60 @@ public class InvestmentService {
     @Transactional
     public void deleteInvestment(Long id) {
         log.info("Deleting investment with id: {}", id);
-        investmentRepository.deleteById(id);
+        investmentRepository.findById(id).ifPresent(investment -> {
+            portfolioAggregateService.remove(investment);
+            investmentRepository.delete(investment);
+            eventPublisher.publishEvent(new LedgerChangedEvent(EnumSet.of(investment.getMetalType())));
+        });
     }
 
     /**
      * Calculate comprehensive dashboard statistics
-     * Uses stored prices from each investment (not current market prices)
+     * Reads the running per-metal totals (one query) and the current prices,
+     * then computes every metal in one pass, so the cost does not grow with
+     * the ledger or with the number of metals
      */
     public DashboardStats getDashboardStats() {
-        DashboardStats stats = new DashboardStats();
-
-        // Get all investments
-        List<Investment> goldInvestments = investmentRepository.findByMetalType(MetalType.GOLD);
-        List<Investment> silverInvestments = investmentRepository.findByMetalType(MetalType.SILVER);
-
-        // Calculate gold stats
-        BigDecimal goldInvested = goldInvestments.stream()
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal goldGrams = goldInvestments.stream()
-                .map(Investment::getGrams)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal goldCurrentValue = goldInvestments.stream()
-                .map(inv -> inv.getGrams().multiply(inv.getTodayPricePerGram()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal goldProfitLoss = goldCurrentValue.subtract(goldInvested);
-
-        // Calculate silver stats
-        BigDecimal silverInvested = silverInvestments.stream()
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal silverGrams = silverInvestments.stream()
-                .map(Investment::getGrams)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal silverCurrentValue = silverInvestments.stream()
-                .map(inv -> inv.getGrams().multiply(inv.getTodayPricePerGram()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal silverProfitLoss = silverCurrentValue.subtract(silverInvested);
-
-        // Calculate totals
-        BigDecimal totalInvested = goldInvested.add(silverInvested);
-        BigDecimal totalCurrentValue = goldCurrentValue.add(silverCurrentValue);
-        BigDecimal totalProfitLoss = goldProfitLoss.add(silverProfitLoss);
-
-        // Get current market prices (for display only, not for calculations)
-        Optional<MetalPrice> goldPriceOpt = metalPriceRepository.findByMetalType(MetalType.GOLD);
-        Optional<MetalPrice> silverPriceOpt = metalPriceRepository.findByMetalType(MetalType.SILVER);
-
-        // Set all stats
-        stats.setTotalInvested(totalInvested);
-        stats.setGoldInvested(goldInvested);
-        stats.setSilverInvested(silverInvested);
-        stats.setTotalGoldGrams(goldGrams);
-        stats.setTotalSilverGrams(silverGrams);
-        stats.setGoldCurrentValue(goldCurrentValue);
-        stats.setSilverCurrentValue(silverCurrentValue);
-        stats.setTotalCurrentValue(totalCurrentValue);
-        stats.setGoldProfitLoss(goldProfitLoss);
-        stats.setSilverProfitLoss(silverProfitLoss);
-        stats.setProfitLoss(totalProfitLoss);
-
-        // Set current market prices (for reference)
-        goldPriceOpt.ifPresent(price -> stats.setGoldCurrentPrice(price.getPricePerGram()));
-        silverPriceOpt.ifPresent(price -> stats.setSilverCurrentPrice(price.getPricePerGram()));
-
-        // Calculate profit/loss percentage
-        if (totalInvested.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal percentage = totalProfitLoss
-                    .divide(totalInvested, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-            stats.setProfitLossPercentage(percentage);
+        // The totals query runs on the dashboard executor while the prices
+        // (an in-memory cache hit) are read here; totals that are late or
+        // cannot be scheduled fail the request with 503
+        Future<Map<MetalType, MetalSummary>> summaries;
+        try {
+            summaries = dashboardExecutor.submit(portfolioAggregateService::getSummaries);
+        } catch (TaskRejectedException e) {
+            log.warn("Dashboard read rejected: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Portfolio totals are busy", e);
         }
+        Map<MetalType, BigDecimal> prices = priceCache.getCurrentPrices();
+        return DashboardStats.of(await(summaries), prices);
+    }
 
-        return stats;
+    /**
+     * Wait for the totals until the fan-out timeout; a miss cancels the read
+     * (interrupting its thread) and fails with 503
+     */
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(fanOutTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Dashboard read timed out after {}", fanOutTimeout);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Portfolio totals not available within " + fanOutTimeout, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the dashboard", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
     }
 
     /**
      * Get current price for a metal
      */
     public Optional<MetalPrice> getCurrentPrice(MetalType metalType) {
-        return metalPriceRepository.findByMetalType(metalType);
+        return priceCache.getCurrentPrice(metalType);
     }
 
     /**
@@ -204,6 +247,7 @@ public class InvestmentService {
 
         log.info("Updating {} price to ₹{} per gram", metalType, pricePerGram);
         MetalPrice saved = metalPriceRepository.save(metalPrice);
+        eventPublisher.publishEvent(new MetalPriceChangedEvent(saved));
 
         // Also save to daily price history
         saveDailyPrice(metalType, pricePerGram, LocalDate.now());
@@ -214,29 +258,56 @@ public class InvestmentService {
     /**
      * Get daily price history for a metal type
      */
+    @Transactional(readOnly = true)
     public List<DailyPrice> getDailyPriceHistory(MetalType metalType) {
         return dailyPriceRepository.findByMetalTypeOrderByPriceDateAsc(metalType);
     }
 
     /**
-     * Save or update daily price
+     * Get one page of daily price history for a metal (oldest first)
+     * The cursor is the price date of the last row of the previous page
      */
-    @Transactional
-    public DailyPrice saveDailyPrice(MetalType metalType, BigDecimal pricePerGram, LocalDate date) {
-        Optional<DailyPrice> existing = dailyPriceRepository.findByMetalTypeAndPriceDate(metalType, date);
+    @Transactional(readOnly = true)
+    public KeysetPage<DailyPrice> getDailyPriceHistoryPage(MetalType metalType, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<DailyPrice> prices = null;
+        if (StringUtils.hasText(cursor)) {
+            try {
+                prices = dailyPriceRepository.findPageAfter(metalType, LocalDate.parse(cursor), limit);
+            } catch (RuntimeException e) {
+                log.debug("Ignoring invalid price history cursor '{}'", cursor);
+            }
+        }
+        if (prices == null) {
+            prices = dailyPriceRepository.findFirstPage(metalType, limit);
+        }
 
-        DailyPrice dailyPrice;
-        if (existing.isPresent()) {
-            dailyPrice = existing.get();
-            dailyPrice.setPricePerGram(pricePerGram);
-        } else {
-            dailyPrice = new DailyPrice();
-            dailyPrice.setMetalType(metalType);
-            dailyPrice.setPriceDate(date);
-            dailyPrice.setPricePerGram(pricePerGram);
+        if (prices.size() <= pageSize) {
+            return new KeysetPage<>(prices, null);
         }
+        List<DailyPrice> items = prices.subList(0, pageSize);
+        return new KeysetPage<>(items, items.get(pageSize - 1).getPriceDate().toString());
+    }
 
-        return dailyPriceRepository.save(dailyPrice);
+    /**
+     * Save or update daily price (one upsert statement, no prior lookup)
+     */
+    @Transactional
+    public void saveDailyPrice(MetalType metalType, BigDecimal pricePerGram, LocalDate date) {
+        // The native statement bypasses entity validation
+        DailyPrice dailyPrice = new DailyPrice();
+        dailyPrice.setMetalType(metalType);
+        dailyPrice.setPriceDate(date);
+        dailyPrice.setPricePerGram(pricePerGram);
+        Set<ConstraintViolation<DailyPrice>> violations = validator.validate(dailyPrice);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        dailyPriceRepository.upsert(metalType.name(), date, pricePerGram);
+        priceRollupService.refresh(metalType, date);
+        eventPublisher.publishEvent(new DailyPriceChangedEvent(metalType, date, pricePerGram));
     }
 
     /**
@@ -244,6 +315,18 @@ public class InvestmentService {
      */
     @Transactional
     public void deleteDailyPrice(Long id) {
-        dailyPriceRepository.deleteById(id);
+        dailyPriceRepository.findById(id).ifPresent(dailyPrice -> {
+            dailyPriceRepository.delete(dailyPrice);
+            priceRollupService.refresh(dailyPrice.getMetalType(), dailyPrice.getPriceDate());
+            eventPublisher.publishEvent(
+                    new DailyPriceChangedEvent(dailyPrice.getMetalType(), dailyPrice.getPriceDate(), null));
+        });
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
     }
 }
@@ -0,0 +1,188 @@
+package com.investment.goldsilver.service;
+
+import com.investment.goldsilver.dto.AggregateDrift;
+import com.investment.goldsilver.dto.MetalSummary;
+import com.investment.goldsilver.entity.Investment;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.entity.PortfolioAggregate;
+import com.investment.goldsilver.event.LedgerChangedEvent;
+import com.investment.goldsilver.repository.InvestmentRepository;
+import com.investment.goldsilver.repository.PortfolioAggregateRepository;
+import com.investment.goldsilver.valuation.ValuationKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the per-metal running totals used by the dashboard.
+ * Every investment write applies its delta here inside the caller's
+ * transaction, so reading the totals never has to scan the ledger.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioAggregateService {
+
+    private final PortfolioAggregateRepository aggregateRepository;
+    private final InvestmentRepository investmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Get the running totals of every metal in one query (metals without
+     * investments read as zero)
+     */
+    @Transactional(readOnly = true)
+    public Map<MetalType, MetalSummary> getSummaries() {
+        return byMetalType(aggregateRepository.findSummaries());
+    }
+
+    /**
+     * Add an investment to the running totals of its metal
+     */
+    @Transactional
+    public void add(Investment investment) {
+        apply(investment, 1);
+    }
+
+    /**
+     * Remove an investment from the running totals of its metal
+     */
+    @Transactional
+    public void remove(Investment investment) {
+        apply(investment, -1);
+    }
+
+    /**
+     * Add a batch of investments to the running totals with one delta per metal
+     */
+    @Transactional
+    public void addAll(Collection<Investment> investments) {
+        Map<MetalType, ValuationKernel.Totals> deltas = new EnumMap<>(MetalType.class);
+        for (Investment investment : investments) {
+            deltas.computeIfAbsent(investment.getMetalType(), metalType -> new ValuationKernel.Totals())
+                    .add(investment.getGrams(), investment.getAmount(), investment.getTodayPricePerGram());
+        }
+        deltas.forEach((metalType, delta) -> applyDelta(metalType, delta.getGrams(), delta.getAmount(),
+                delta.getValue(), delta.getCount()));
+    }
+
+    private void apply(Investment investment, int sign) {
+        BigDecimal grams = investment.getGrams();
+        BigDecimal amount = investment.getAmount();
+        BigDecimal currentValue = ValuationKernel.valuate(grams, investment.getTodayPricePerGram(), amount)
+                .currentValue();
+        if (sign < 0) {
+            grams = grams.negate();
+            amount = amount.negate();
+            currentValue = currentValue.negate();
+        }
+        applyDelta(investment.getMetalType(), grams, amount, currentValue, sign);
+    }
+
+    private void applyDelta(MetalType metalType, BigDecimal grams, BigDecimal amount, BigDecimal currentValue,
+            long count) {
+        if (aggregateRepository.applyDelta(metalType, grams, amount, currentValue, count) == 0) {
+            // The rows are seeded at startup; a metal added since then gets its
+            // zero row here (insert-if-missing, so concurrent first writes don't collide)
+            aggregateRepository.insertIfMissing(metalType.name());
+            aggregateRepository.applyDelta(metalType, grams, amount, currentValue, count);
+        }
+    }
+
+    /**
+     * Recompute every aggregate from the investments table, overwrite the stored
+     * rows and report the drift that was found (drifted metals count as a ledger change).
+     * The rows are locked before the investments are summed, so a delta committed
+     * meanwhile can't be overwritten by totals that don't include it.
+     */
+    @Transactional
+    public List<AggregateDrift> rebuildAggregates() {
+        // Lock in metal order, the same order addAll applies its deltas in
+        Map<MetalType, PortfolioAggregate> locked = new EnumMap<>(MetalType.class);
+        for (MetalType metalType : MetalType.values()) {
+            aggregateRepository.insertIfMissing(metalType.name());
+            locked.put(metalType, aggregateRepository.findForUpdate(metalType).orElseThrow());
+        }
+        Map<MetalType, MetalSummary> actual = byMetalType(investmentRepository.summarizeByMetalType());
+
+        List<AggregateDrift> drifts = new ArrayList<>();
+        Set<MetalType> drifted = EnumSet.noneOf(MetalType.class);
+        locked.forEach((metalType, aggregate) -> {
+            AggregateDrift drift = AggregateDrift.of(summaryOf(aggregate), actual.get(metalType));
+            aggregate.setTotalGrams(drift.getActualGrams());
+            aggregate.setTotalAmount(drift.getActualAmount());
+            aggregate.setTotalCurrentValue(drift.getActualCurrentValue());
+            aggregate.setInvestmentCount(drift.getActualCount());
+            drifts.add(drift);
+
+            if (drift.isDrifted()) {
+                log.warn("Portfolio aggregate for {} had drifted: {}", metalType, drift);
+                drifted.add(metalType);
+            }
+        });
+        if (!drifted.isEmpty()) {
+            eventPublisher.publishEvent(new LedgerChangedEvent(drifted));
+        }
+        return drifts;
+    }
+
+    /**
+     * Compare the stored aggregates with totals recomputed from the investments
+     * table (one grouped query) without changing anything
+     */
+    @Transactional(readOnly = true)
+    public List<AggregateDrift> verifyAggregates() {
+        Map<MetalType, MetalSummary> stored = getSummaries();
+        Map<MetalType, MetalSummary> actual = byMetalType(investmentRepository.summarizeByMetalType());
+
+        List<AggregateDrift> drifts = new ArrayList<>();
+        for (MetalType metalType : MetalType.values()) {
+            drifts.add(AggregateDrift.of(stored.get(metalType), actual.get(metalType)));
+        }
+        return drifts;
+    }
+
+    private static MetalSummary summaryOf(PortfolioAggregate aggregate) {
+        return new MetalSummary(aggregate.getMetalType(), aggregate.getTotalAmount(), aggregate.getTotalGrams(),
+                aggregate.getTotalCurrentValue(), aggregate.getInvestmentCount());
+    }
+
+    private static Map<MetalType, MetalSummary> byMetalType(List<MetalSummary> summaries) {
+        Map<MetalType, MetalSummary> result = new EnumMap<>(MetalType.class);
+        for (MetalType metalType : MetalType.values()) {
+            result.put(metalType, MetalSummary.empty(metalType));
+        }
+        summaries.forEach(summary -> result.put(summary.getMetalType(), summary));
+        return result;
+    }
+
+    /**
+     * Seed one aggregate row per metal and build their totals on first start
+     * (or after new metals were added)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeAggregates() {
+        int seeded = 0;
+        for (MetalType metalType : MetalType.values()) {
+            seeded += aggregateRepository.insertIfMissing(metalType.name());
+        }
+        if (seeded > 0) {
+            log.info("Portfolio aggregates missing - rebuilding from investments table");
+            rebuildAggregates();
+        }
+    }
+}
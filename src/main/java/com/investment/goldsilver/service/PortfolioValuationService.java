@@ -0,0 +1,275 @@
+package com.investment.goldsilver.service;
+
+import com.investment.goldsilver.dto.HoldingChange;
+import com.investment.goldsilver.dto.ValuationPoint;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.event.DailyPriceChangedEvent;
+import com.investment.goldsilver.event.DailyPricesImportedEvent;
+import com.investment.goldsilver.event.LedgerChangedEvent;
+import com.investment.goldsilver.repository.InvestmentRepository;
+import com.investment.goldsilver.valuation.ValuationKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Portfolio value over time: for every day since the first purchase, the
+ * grams held of each metal valued at that day's daily price (forward-filled
+ * over missing days; at cost until a metal has its first price).
+ *
+ * The curve is computed by one merged sweep over the per-day holding changes
+ * and the in-memory price series, and kept between requests. Price changes
+ * only re-sweep the days from the changed date on, and new days are appended
+ * to the end; ledger changes reload the holdings and rebuild the curve.
+ *
+ * The curve is an immutable snapshot, copied on write like the price series:
+ * a reader that finds it stale builds the next one without holding a lock
+ * and publishes it with a compare-and-set, which fails (leaving the rebuild
+ * to the next reader) when an event marked the snapshot stale meanwhile.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioValuationService {
+
+    private static final int GRAMS_SCALE = ValuationKernel.GRAMS_SCALE;
+    private static final int AMOUNT_SCALE = ValuationKernel.AMOUNT_SCALE;
+    private static final int VALUE_SCALE = ValuationKernel.VALUE_SCALE;
+
+    private final InvestmentRepository investmentRepository;
+    private final PriceSeriesStore priceSeriesStore;
+
+    private final AtomicReference<Curve> curve = new AtomicReference<>(Curve.STALE);
+
+    /**
+     * Valuation curve between two dates (whole curve when null)
+     */
+    public List<ValuationPoint> getCurve(LocalDate from, LocalDate to) {
+        Curve current = curve.get();
+        Curve snapshot = refresh(current, (int) LocalDate.now().toEpochDay());
+        if (snapshot != current) {
+            curve.compareAndSet(current, snapshot);
+        }
+        int length = snapshot.length();
+        if (length == 0) {
+            return List.of();
+        }
+
+        long[] invested = snapshot.invested();
+        long[] values = snapshot.values();
+        int first = snapshot.holdings().firstDay;
+        int fromIndex = from == null ? 0 : (int) Math.max(0, Math.min(length, from.toEpochDay() - first));
+        int toIndex = to == null ? length : (int) Math.max(0, Math.min(length, to.toEpochDay() - first + 1));
+
+        List<ValuationPoint> points = new ArrayList<>(Math.max(0, toIndex - fromIndex));
+        for (int i = fromIndex; i < toIndex; i++) {
+            points.add(new ValuationPoint(
+                    LocalDate.ofEpochDay(first + i),
+                    BigDecimal.valueOf(invested[i], AMOUNT_SCALE),
+                    BigDecimal.valueOf(values[i], VALUE_SCALE).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP)));
+        }
+        return points;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        curve.updateAndGet(Curve::withoutHoldings);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyPriceChanged(DailyPriceChangedEvent event) {
+        int epochDay = (int) event.getPriceDate().toEpochDay();
+        curve.updateAndGet(current -> current.invalidatedFrom(epochDay));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyPricesImported(DailyPricesImportedEvent event) {
+        curve.updateAndGet(current -> current.invalidatedFrom(Integer.MIN_VALUE));
+    }
+
+    /**
+     * The curve brought up to date, or the given one when it already is:
+     * reload the holdings if the ledger changed, then sweep copies of the
+     * arrays from the first dirty day (or the old end) to the new end
+     */
+    private Curve refresh(Curve current, int today) {
+        Holdings holdings = current.holdings();
+        int length = current.length();
+        int dirtyFrom = current.dirtyFrom();
+        if (holdings == null) {
+            holdings = Holdings.of(investmentRepository.findHoldingChanges());
+            length = 0;
+            dirtyFrom = Integer.MAX_VALUE;
+        }
+        if (holdings.isEmpty()) {
+            return holdings == current.holdings() ? current
+                    : new Curve(holdings, new long[0], new long[0], Integer.MAX_VALUE);
+        }
+
+        int first = holdings.firstDay;
+        int end = Math.max(today, holdings.lastDay);
+        for (MetalType metalType : MetalType.values()) {
+            PriceSeries series = priceSeriesStore.getSeries(metalType);
+            if (series.size() > 0) {
+                end = Math.max(end, series.epochDayAt(series.size() - 1));
+            }
+        }
+
+        int newLength = end - first + 1;
+        int sweepFrom = Math.max(first, Math.min(dirtyFrom, first + Math.min(length, newLength)));
+        if (holdings == current.holdings() && newLength == length && sweepFrom > end) {
+            return current;
+        }
+        long[] invested = Arrays.copyOf(current.invested(), newLength);
+        long[] values = Arrays.copyOf(current.values(), newLength);
+        if (sweepFrom <= end) {
+            sweep(holdings, invested, values, sweepFrom, end);
+            log.debug("Swept portfolio valuation from {} to {}", LocalDate.ofEpochDay(sweepFrom), LocalDate.ofEpochDay(end));
+        }
+        return new Curve(holdings, invested, values, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Fill the curve for [fromDay, toDay] in a single pass, advancing one
+     * cursor per metal through its holding changes and its price series
+     */
+    private void sweep(Holdings holdings, long[] invested, long[] values, int fromDay, int toDay) {
+        MetalType[] metals = MetalType.values();
+        PriceSeries[] series = new PriceSeries[metals.length];
+        int[] changeCursor = new int[metals.length];
+        int[] priceCursor = new int[metals.length];
+        long[] grams = new long[metals.length];
+        long[] amount = new long[metals.length];
+        long[] price = new long[metals.length];
+
+        // Seed each cursor with the state as of the day before the sweep
+        for (MetalType metalType : metals) {
+            int m = metalType.ordinal();
+            MetalHoldings metalHoldings = holdings.byMetal[m];
+            series[m] = priceSeriesStore.getSeries(metalType);
+            changeCursor[m] = metalHoldings.upperBound(fromDay - 1);
+            if (changeCursor[m] > 0) {
+                grams[m] = metalHoldings.cumulativeGrams[changeCursor[m] - 1];
+                amount[m] = metalHoldings.cumulativeAmount[changeCursor[m] - 1];
+            }
+            priceCursor[m] = series[m].upperBound(fromDay - 1);
+            price[m] = priceCursor[m] > 0 ? series[m].priceAt(priceCursor[m] - 1) : -1;
+        }
+
+        for (int day = fromDay; day <= toDay; day++) {
+            long dayInvested = 0;
+            long dayValue = 0;
+            for (int m = 0; m < metals.length; m++) {
+                MetalHoldings metalHoldings = holdings.byMetal[m];
+                if (changeCursor[m] < metalHoldings.days.length && metalHoldings.days[changeCursor[m]] == day) {
+                    grams[m] = metalHoldings.cumulativeGrams[changeCursor[m]];
+                    amount[m] = metalHoldings.cumulativeAmount[changeCursor[m]];
+                    changeCursor[m]++;
+                }
+                if (priceCursor[m] < series[m].size() && series[m].epochDayAt(priceCursor[m]) == day) {
+                    price[m] = series[m].priceAt(priceCursor[m]);
+                    priceCursor[m]++;
+                }
+                dayInvested += amount[m];
+                dayValue = Math.addExact(dayValue, price[m] >= 0
+                        ? ValuationKernel.value(grams[m], price[m])
+                        : ValuationKernel.amountToValue(amount[m]));
+            }
+            invested[day - holdings.firstDay] = dayInvested;
+            values[day - holdings.firstDay] = dayValue;
+        }
+    }
+
+    /**
+     * One published state of the curve; never modified once published
+     *
+     * @param holdings  null when the ledger has to be reloaded
+     * @param invested  scale 2, one entry per day from holdings.firstDay
+     * @param values    scale 7
+     * @param dirtyFrom first epoch day that has to be re-swept
+     */
+    private record Curve(Holdings holdings, long[] invested, long[] values, int dirtyFrom) {
+
+        static final Curve STALE = new Curve(null, new long[0], new long[0], Integer.MAX_VALUE);
+
+        int length() {
+            return invested.length;
+        }
+
+        Curve withoutHoldings() {
+            return new Curve(null, invested, values, Integer.MAX_VALUE);
+        }
+
+        Curve invalidatedFrom(int epochDay) {
+            return new Curve(holdings, invested, values, Math.min(dirtyFrom, epochDay));
+        }
+    }
+
+    /**
+     * Cumulative holdings of one metal after each purchase day, in
+     * fixed-point units (grams scale 5, amount scale 2)
+     */
+    private record MetalHoldings(int[] days, long[] cumulativeGrams, long[] cumulativeAmount) {
+
+        int upperBound(int epochDay) {
+            int low = 0;
+            int high = days.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] <= epochDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private record Holdings(MetalHoldings[] byMetal, int firstDay, int lastDay) {
+
+        boolean isEmpty() {
+            return firstDay > lastDay;
+        }
+
+        static Holdings of(List<HoldingChange> changes) {
+            MetalType[] metals = MetalType.values();
+            int[] counts = new int[metals.length];
+            for (HoldingChange change : changes) {
+                counts[change.getMetalType().ordinal()]++;
+            }
+
+            MetalHoldings[] byMetal = new MetalHoldings[metals.length];
+            for (int m = 0; m < metals.length; m++) {
+                byMetal[m] = new MetalHoldings(new int[counts[m]], new long[counts[m]], new long[counts[m]]);
+            }
+
+            int[] filled = new int[metals.length];
+            int firstDay = Integer.MAX_VALUE;
+            int lastDay = Integer.MIN_VALUE;
+            for (HoldingChange change : changes) { // already ordered by purchase date
+                int m = change.getMetalType().ordinal();
+                int i = filled[m]++;
+                int day = (int) change.getPurchaseDate().toEpochDay();
+                MetalHoldings metalHoldings = byMetal[m];
+                metalHoldings.days[i] = day;
+                metalHoldings.cumulativeGrams[i] = ValuationKernel.toFixedRounded(change.getGrams(), GRAMS_SCALE)
+                        + (i > 0 ? metalHoldings.cumulativeGrams[i - 1] : 0);
+                metalHoldings.cumulativeAmount[i] = ValuationKernel.toFixedRounded(change.getAmount(), AMOUNT_SCALE)
+                        + (i > 0 ? metalHoldings.cumulativeAmount[i - 1] : 0);
+                firstDay = Math.min(firstDay, day);
+                lastDay = Math.max(lastDay, day);
+            }
+            return new Holdings(byMetal, firstDay, lastDay);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.investment.goldsilver.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.investment.goldsilver.entity.DailyPrice;
+import com.investment.goldsilver.entity.MetalPrice;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.event.DailyPricesImportedEvent;
+import com.investment.goldsilver.event.MetalPriceChangedEvent;
+import com.investment.goldsilver.repository.DailyPriceRepository;
+import com.investment.goldsilver.repository.MetalPriceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-process cache for current metal prices. Entries are refreshed only
+ * after the writing transaction commits, so readers never see a price that
+ * was rolled back, and before {@link DataVersion} moves on, so nothing cached under the new version is
+ * built from old prices.
+ *
+ * Misses are loaded through Hibernate's second-level cache, which holds the
+ * price entities and their lookup queries. Hibernate keeps that cache in step
+ * with its own writes; the JDBC batches of a bulk import bypass it, so the
+ * daily price regions are evicted here after an import.
+ */
+@Component
+public class PriceCache {
+
+    private final LoadingCache<MetalType, Optional<MetalPrice>> currentPrices;
+    private final MetalPriceRepository metalPriceRepository;
+    private final SessionFactory sessionFactory;
+
+    public PriceCache(MetalPriceRepository metalPriceRepository,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${price-cache.ttl:10m}") Duration ttl) {
+        this.metalPriceRepository = metalPriceRepository;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.currentPrices = Caffeine.newBuilder()
+                .maximumSize(MetalType.values().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(metalPriceRepository::findByMetalType);
+    }
+
+    /**
+     * Get current price for a metal
+     */
+    public Optional<MetalPrice> getCurrentPrice(MetalType metalType) {
+        return currentPrices.get(metalType);
+    }
+
+    /**
+     * Get the current price of every metal that has one; metals missing from
+     * the cache are loaded together in one query
+     */
+    public Map<MetalType, BigDecimal> getCurrentPrices() {
+        Map<MetalType, Optional<MetalPrice>> cached = currentPrices.getAll(EnumSet.allOf(MetalType.class),
+                this::loadCurrentPrices);
+        Map<MetalType, BigDecimal> prices = new EnumMap<>(MetalType.class);
+        cached.forEach((metalType, price) -> price.ifPresent(p -> prices.put(metalType, p.getPricePerGram())));
+        return prices;
+    }
+
+    /**
+     * Write the committed price through to the cache
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onMetalPriceChanged(MetalPriceChangedEvent event) {
+        MetalPrice metalPrice = event.getMetalPrice();
+        currentPrices.put(metalPrice.getMetalType(), Optional.of(metalPrice));
+    }
+
+    /**
+     * Drop the daily price entities and queries of the second-level cache
+     * after a bulk import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDailyPricesImported(DailyPricesImportedEvent event) {
+        sessionFactory.getCache().evictEntityData(DailyPrice.class);
+        sessionFactory.getCache().evictQueryRegion(DailyPriceRepository.QUERY_REGION);
+    }
+
+    /**
+     * Hit/miss/eviction statistics of the current prices, followed by hit/miss/put
+     * statistics per second-level cache region
+     */
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("currentPrices", describe(currentPrices.stats()));
+        CacheImplementor cache = sessionFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String name : cache.getCacheRegionNames()) {
+            Region region = cache.getRegion(name);
+            CacheRegionStatistics regionStats = region instanceof DomainDataRegion
+                    ? statistics.getDomainDataRegionStatistics(name)
+                    : region instanceof QueryResultsRegion ? statistics.getQueryRegionStatistics(name) : null;
+            if (regionStats != null) {
+                stats.put("secondLevel." + name, describe(regionStats));
+            }
+        }
+        return stats;
+    }
+
+    private static Map<String, Object> describe(CacheStats cacheStats) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hits", cacheStats.hitCount());
+        values.put("misses", cacheStats.missCount());
+        values.put("hitRate", cacheStats.hitRate());
+        values.put("evictions", cacheStats.evictionCount());
+        values.put("loads", cacheStats.loadCount());
+        return values;
+    }
+
+    private static Map<String, Object> describe(CacheRegionStatistics regionStats) {
+        long hits = regionStats.getHitCount();
+        long requests = hits + regionStats.getMissCount();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hits", hits);
+        values.put("misses", regionStats.getMissCount());
+        values.put("hitRate", requests == 0 ? 1.0 : (double) hits / requests);
+        values.put("puts", regionStats.getPutCount());
+        return values;
+    }
+
+    private Map<MetalType, Optional<MetalPrice>> loadCurrentPrices(Set<? extends MetalType> metalTypes) {
+        Map<MetalType, Optional<MetalPrice>> loaded = new EnumMap<>(MetalType.class);
+        metalTypes.forEach(metalType -> loaded.put(metalType, Optional.empty()));
+        for (MetalPrice price : metalPriceRepository.findAll()) {
+            if (metalTypes.contains(price.getMetalType())) {
+                loaded.put(price.getMetalType(), Optional.of(price));
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,212 @@
+package com.investment.goldsilver.service;
+
+import com.investment.goldsilver.dto.PriceCandle;
+import com.investment.goldsilver.dto.PriceChart;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.entity.PriceResolution;
+import com.investment.goldsilver.event.DailyPricesImportedEvent;
+import com.investment.goldsilver.repository.DailyPriceRepository;
+import com.investment.goldsilver.repository.PriceRollupRepository;
+import com.investment.goldsilver.repository.UpsertSql;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the weekly, monthly and yearly rollups of daily prices used by
+ * long-range charts. Every daily price write recomputes the three periods
+ * containing its day inside the caller's transaction (at most a year of rows),
+ * so charts never have to aggregate the full history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceRollupService {
+
+    /**
+     * Resolutions kept in the rollup table (days are read from daily_prices)
+     */
+    public static final Set<PriceResolution> ROLLUPS = EnumSet.range(PriceResolution.WEEK, PriceResolution.YEAR);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PriceRollupRepository rollupRepository;
+    private final DailyPriceRepository dailyPriceRepository;
+    private final PriceSeriesStore priceSeriesStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final UpsertSql upsertSql;
+
+    /**
+     * Chart points of a metal within [from, to] (whole history when omitted)
+     * at the finest resolution that fits the point budget; falls back to
+     * years when even those exceed it
+     */
+    @Transactional(readOnly = true)
+    public PriceChart getChart(MetalType metalType, LocalDate from, LocalDate to, int points) {
+        // The in-memory series gives the covered range and day count without a query
+        PriceSeries series = priceSeriesStore.getSeries(metalType);
+        if (series.size() == 0) {
+            return new PriceChart(metalType, PriceResolution.DAY, List.of());
+        }
+        LocalDate first = series.dateAt(0);
+        LocalDate last = series.dateAt(series.size() - 1);
+        LocalDate start = from == null || from.isBefore(first) ? first : from;
+        LocalDate end = to == null || to.isAfter(last) ? last : to;
+        if (start.isAfter(end)) {
+            return new PriceChart(metalType, PriceResolution.DAY, List.of());
+        }
+
+        int days = series.upperBound((int) end.toEpochDay()) - series.lowerBound((int) start.toEpochDay());
+        PriceResolution resolution = PriceResolution.YEAR;
+        if (days <= points) {
+            resolution = PriceResolution.DAY;
+        } else if (PriceResolution.WEEK.periods(start, end) <= points) {
+            resolution = PriceResolution.WEEK;
+        } else if (PriceResolution.MONTH.periods(start, end) <= points) {
+            resolution = PriceResolution.MONTH;
+        }
+
+        List<PriceCandle> candles = resolution == PriceResolution.DAY
+                ? dailyPriceRepository.findCandles(metalType, start, end)
+                : rollupRepository.findCandles(metalType, resolution, resolution.start(start), end);
+        return new PriceChart(metalType, resolution, candles);
+    }
+
+    /**
+     * Recompute the week, month and year containing a changed day
+     */
+    @Transactional
+    public void refresh(MetalType metalType, LocalDate date) {
+        LocalDate from = date;
+        LocalDate to = date;
+        for (PriceResolution resolution : ROLLUPS) {
+            from = min(from, resolution.start(date));
+            to = max(to, resolution.end(date));
+        }
+        List<PriceCandle> days = dailyPriceRepository.findCandles(metalType, from, to);
+
+        for (PriceResolution resolution : ROLLUPS) {
+            LocalDate start = resolution.start(date);
+            LocalDate end = resolution.end(date);
+            List<PriceCandle> period = rollUp(days.stream()
+                    .filter(day -> !day.getPeriodStart().isBefore(start) && !day.getPeriodStart().isAfter(end))
+                    .toList(), resolution);
+            if (period.isEmpty()) {
+                rollupRepository.deletePeriod(metalType, resolution, start);
+            } else {
+                PriceCandle candle = period.get(0);
+                rollupRepository.upsert(metalType.name(), resolution.name(), start, candle.getOpen(),
+                        candle.getHigh(), candle.getLow(), candle.getClose(), candle.getAverage(), candle.getDays());
+            }
+        }
+    }
+
+    /**
+     * Recompute every period of a metal from its full daily history
+     */
+    @Transactional
+    public void rebuild(MetalType metalType) {
+        List<PriceCandle> days = dailyPriceRepository.findAllCandles(metalType);
+        rollupRepository.deleteByMetalType(metalType);
+        int rebuilt = 0;
+        for (PriceResolution resolution : ROLLUPS) {
+            List<PriceCandle> periods = rollUp(days, resolution);
+            jdbcTemplate.batchUpdate(upsertSql.priceRollup(), periods, BATCH_SIZE, (ps, period) -> {
+                ps.setString(1, metalType.name());
+                ps.setString(2, resolution.name());
+                ps.setObject(3, period.getPeriodStart());
+                ps.setBigDecimal(4, period.getOpen());
+                ps.setBigDecimal(5, period.getHigh());
+                ps.setBigDecimal(6, period.getLow());
+                ps.setBigDecimal(7, period.getClose());
+                ps.setBigDecimal(8, period.getAverage());
+                ps.setInt(9, period.getDays());
+            });
+            rebuilt += periods.size();
+        }
+        log.info("Rebuilt {} {} price rollups from {} daily prices", rebuilt, metalType, days.size());
+    }
+
+    // Runs before other listeners so they observe the rebuilt rollups
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onDailyPricesImported(DailyPricesImportedEvent event) {
+        event.getMetalTypes().forEach(this::rebuild);
+    }
+
+    /**
+     * Build the rollups on first start, and again for any metal whose daily
+     * prices were changed behind the application's back (e.g. by data.sql)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeRollups() {
+        for (MetalType metalType : MetalType.values()) {
+            long dailyPrices = dailyPriceRepository.countByMetalType(metalType);
+            long rolledUp = rollupRepository.countDays(metalType, PriceResolution.YEAR);
+            if (dailyPrices != rolledUp) {
+                log.info("Price rollups of {} cover {} of {} daily prices - rebuilding", metalType, rolledUp,
+                        dailyPrices);
+                rebuild(metalType);
+            }
+        }
+    }
+
+    /**
+     * Fold consecutive daily points (oldest first) into one point per period
+     */
+    static List<PriceCandle> rollUp(List<PriceCandle> days, PriceResolution resolution) {
+        List<PriceCandle> periods = new ArrayList<>();
+        PriceCandle current = null;
+        for (PriceCandle day : days) {
+            LocalDate start = resolution.start(day.getPeriodStart());
+            if (current == null || !current.getPeriodStart().equals(start)) {
+                if (current != null) {
+                    periods.add(finish(current));
+                }
+                // The average holds the running sum until the period is finished
+                current = new PriceCandle(start, day.getOpen(), day.getHigh(), day.getLow(), day.getClose(),
+                        BigDecimal.ZERO, 0);
+            }
+            current.setHigh(current.getHigh().max(day.getHigh()));
+            current.setLow(current.getLow().min(day.getLow()));
+            current.setClose(day.getClose());
+            current.setAverage(current.getAverage().add(day.getClose()));
+            current.setDays(current.getDays() + 1);
+        }
+        if (current != null) {
+            periods.add(finish(current));
+        }
+        return periods;
+    }
+
+    private static PriceCandle finish(PriceCandle period) {
+        period.setAverage(period.getAverage().divide(BigDecimal.valueOf(period.getDays()), 2, RoundingMode.HALF_UP));
+        return period;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
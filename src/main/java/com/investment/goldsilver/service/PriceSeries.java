@@ -0,0 +1,210 @@
+package com.investment.goldsilver.service;
+
+import com.investment.goldsilver.valuation.ValuationKernel;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable, columnar daily price series of one metal.
+ * Dates are kept as epoch days and prices as fixed-point longs (paise, scale 2)
+ * in parallel primitive arrays sorted by date, so range lookups are binary
+ * searches and analytics loop over primitives without allocating per point.
+ * Changes produce a new instance (copy-on-write); readers never need a lock.
+ */
+public final class PriceSeries {
+
+    /**
+     * Number of decimal places of the fixed-point prices
+     */
+    public static final int PRICE_SCALE = ValuationKernel.PRICE_SCALE;
+
+    private static final PriceSeries EMPTY = new PriceSeries(new int[0], new long[0]);
+
+    private final int[] epochDays;
+    private final long[] prices;
+
+    PriceSeries(int[] epochDays, long[] prices) {
+        this.epochDays = epochDays;
+        this.prices = prices;
+    }
+
+    public static PriceSeries empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public int epochDayAt(int index) {
+        return epochDays[index];
+    }
+
+    public long priceAt(int index) {
+        return prices[index];
+    }
+
+    /**
+     * Index of the first point dated on or after the given day (size() if none)
+     */
+    public int lowerBound(int epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first point dated strictly after the given day (size() if none)
+     */
+    public int upperBound(int epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copy of this series with the price of a day inserted or replaced
+     */
+    public PriceSeries withPrice(int epochDay, long price) {
+        int index = lowerBound(epochDay);
+        if (index < epochDays.length && epochDays[index] == epochDay) {
+            long[] newPrices = prices.clone();
+            newPrices[index] = price;
+            return new PriceSeries(epochDays, newPrices);
+        }
+
+        int[] newDays = new int[epochDays.length + 1];
+        long[] newPrices = new long[prices.length + 1];
+        System.arraycopy(epochDays, 0, newDays, 0, index);
+        System.arraycopy(prices, 0, newPrices, 0, index);
+        newDays[index] = epochDay;
+        newPrices[index] = price;
+        System.arraycopy(epochDays, index, newDays, index + 1, epochDays.length - index);
+        System.arraycopy(prices, index, newPrices, index + 1, prices.length - index);
+        return new PriceSeries(newDays, newPrices);
+    }
+
+    /**
+     * Copy of this series without the given day (this instance if absent)
+     */
+    public PriceSeries withoutPrice(int epochDay) {
+        int index = lowerBound(epochDay);
+        if (index == epochDays.length || epochDays[index] != epochDay) {
+            return this;
+        }
+
+        int[] newDays = new int[epochDays.length - 1];
+        long[] newPrices = new long[prices.length - 1];
+        System.arraycopy(epochDays, 0, newDays, 0, index);
+        System.arraycopy(prices, 0, newPrices, 0, index);
+        System.arraycopy(epochDays, index + 1, newDays, index, newDays.length - index);
+        System.arraycopy(prices, index + 1, newPrices, index, newPrices.length - index);
+        return new PriceSeries(newDays, newPrices);
+    }
+
+    /**
+     * Trailing moving average (in fixed-point units) for each point in
+     * [fromIndex, toIndex); points before fromIndex are used to fill the
+     * window where available
+     */
+    public double[] movingAverage(int fromIndex, int toIndex, int window) {
+        double[] result = new double[Math.max(0, toIndex - fromIndex)];
+        if (result.length == 0) {
+            return result;
+        }
+
+        int start = Math.max(0, fromIndex - window + 1);
+        long sum = 0;
+        for (int i = start; i < fromIndex; i++) {
+            sum += prices[i];
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            sum += prices[i];
+            if (i - window >= start) {
+                sum -= prices[i - window];
+            }
+            int count = Math.min(window, i - start + 1);
+            result[i - fromIndex] = (double) sum / count;
+        }
+        return result;
+    }
+
+    /**
+     * Summary statistics over the points in [fromIndex, toIndex)
+     */
+    public Stats stats(int fromIndex, int toIndex) {
+        int count = toIndex - fromIndex;
+        if (count <= 0) {
+            return new Stats(0, 0, 0, 0, 0, 0, 0);
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long sum = 0;
+        // Welford's running mean/variance of daily log returns
+        double returnMean = 0;
+        double returnM2 = 0;
+        int returns = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            long price = prices[i];
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+            sum += price;
+            if (i > fromIndex) {
+                double logReturn = Math.log((double) price / prices[i - 1]);
+                returns++;
+                double delta = logReturn - returnMean;
+                returnMean += delta / returns;
+                returnM2 += delta * (logReturn - returnMean);
+            }
+        }
+
+        double volatility = returns > 1 ? Math.sqrt(returnM2 / (returns - 1)) : 0;
+        return new Stats(count, min, max, sum, prices[fromIndex], prices[toIndex - 1], volatility);
+    }
+
+    /**
+     * Convert a price to fixed-point units
+     */
+    public static long toFixed(BigDecimal price) {
+        return ValuationKernel.toFixedRounded(price, PRICE_SCALE);
+    }
+
+    /**
+     * Convert fixed-point units back to a price
+     */
+    public static BigDecimal fromFixed(long fixed) {
+        return BigDecimal.valueOf(fixed, PRICE_SCALE);
+    }
+
+    /**
+     * Date of a point
+     */
+    public LocalDate dateAt(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    /**
+     * Primitive summary of a range (prices in fixed-point units)
+     */
+    public record Stats(int count, long min, long max, long sum, long first, long last, double dailyVolatility) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.investment.goldsilver.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of a {@link PriceSeries} for chart clients
+ * (decoded by static/js/price-series.js).
+ *
+ * Layout: the magic "PS", a format version byte, the price scale byte and
+ * the point count as a varint, then two columns. The day column holds the
+ * first epoch day (zigzag varint) and the gap to each following day (varint).
+ * The price column holds the first fixed-point price and the change to each
+ * following price (zigzag varints). Varints are little-endian base 128.
+ * Consecutive days and day-to-day price moves of less than about ₹80 take
+ * one and two bytes, so a point costs about three bytes instead of the
+ * hundred or so of a JSON object.
+ */
+public final class PriceSeriesCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.goldsilver.price-series";
+
+    private static final byte VERSION = 1;
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private PriceSeriesCodec() {
+    }
+
+    /**
+     * Encode the points in [fromIndex, toIndex) into a read-only buffer
+     */
+    public static ByteBuffer encode(PriceSeries series, int fromIndex, int toIndex) {
+        int count = Math.max(0, toIndex - fromIndex);
+        byte[] out = new byte[8 + MAX_VARINT_BYTES + count * 2 * MAX_VARINT_BYTES];
+        out[0] = 'P';
+        out[1] = 'S';
+        out[2] = VERSION;
+        out[3] = PriceSeries.PRICE_SCALE;
+        int position = writeVarint(out, 4, count);
+
+        long previous = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            long day = series.epochDayAt(i);
+            position = i == fromIndex ? writeVarint(out, position, zigzag(day)) : writeVarint(out, position, day - previous);
+            previous = day;
+        }
+        previous = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            long price = series.priceAt(i);
+            position = writeVarint(out, position, zigzag(price - previous));
+            previous = price;
+        }
+        return ByteBuffer.wrap(Arrays.copyOf(out, position)).asReadOnlyBuffer();
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int writeVarint(byte[] out, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+}
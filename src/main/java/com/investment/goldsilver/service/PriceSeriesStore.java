@@ -0,0 +1,197 @@
+package com.investment.goldsilver.service;
+
+import com.investment.goldsilver.dto.MovingAverage;
+import com.investment.goldsilver.dto.PriceRangeStats;
+import com.investment.goldsilver.entity.DailyPrice;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.event.DailyPriceChangedEvent;
+import com.investment.goldsilver.event.DailyPricesImportedEvent;
+import com.investment.goldsilver.repository.DailyPriceRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Holds the full daily price history of every metal in memory as
+ * {@link PriceSeries} snapshots. Loaded at startup and kept in sync with
+ * committed daily price writes; analytics over any window run on the
+ * primitive arrays without touching the database.
+ */
+@Component
+@Slf4j
+public class PriceSeriesStore {
+
+    private final Map<MetalType, AtomicReference<PriceSeries>> series = new EnumMap<>(MetalType.class);
+    private final Map<MetalType, AtomicReference<Encoded>> encoded = new EnumMap<>(MetalType.class);
+    private final DailyPriceRepository dailyPriceRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PriceSeriesStore(DailyPriceRepository dailyPriceRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.dailyPriceRepository = dailyPriceRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        for (MetalType metalType : MetalType.values()) {
+            series.put(metalType, new AtomicReference<>(PriceSeries.empty()));
+            encoded.put(metalType, new AtomicReference<>());
+        }
+    }
+
+    /**
+     * Current snapshot of a metal's series
+     */
+    public PriceSeries getSeries(MetalType metalType) {
+        return series.get(metalType).get();
+    }
+
+    /**
+     * {@link PriceSeriesCodec} encoding of the points in [from, to]; the
+     * encoding of a whole series is cached until the series changes
+     */
+    public ByteBuffer getEncodedSeries(MetalType metalType, LocalDate from, LocalDate to) {
+        PriceSeries snapshot = getSeries(metalType);
+        if (from != null || to != null) {
+            return PriceSeriesCodec.encode(snapshot,
+                    from != null ? snapshot.lowerBound(toEpochDay(from)) : 0,
+                    to != null ? snapshot.upperBound(toEpochDay(to)) : snapshot.size());
+        }
+        Encoded cached = encoded.get(metalType).get();
+        if (cached == null || cached.series() != snapshot) {
+            cached = new Encoded(snapshot, PriceSeriesCodec.encode(snapshot, 0, snapshot.size()));
+            encoded.get(metalType).set(cached);
+        }
+        // Every response gets its own position over the shared bytes
+        return cached.bytes().duplicate();
+    }
+
+    /**
+     * Min/max/mean, first/last, return and volatility over [from, to]
+     */
+    public PriceRangeStats getRangeStats(MetalType metalType, LocalDate from, LocalDate to) {
+        PriceSeries snapshot = getSeries(metalType);
+        int fromIndex = snapshot.lowerBound(toEpochDay(from));
+        int toIndex = snapshot.upperBound(toEpochDay(to));
+        PriceSeries.Stats stats = snapshot.stats(fromIndex, toIndex);
+
+        PriceRangeStats result = new PriceRangeStats();
+        result.setMetalType(metalType);
+        result.setPoints(stats.count());
+        if (stats.count() > 0) {
+            // Report the dates actually covered rather than the requested bounds
+            result.setFrom(snapshot.dateAt(fromIndex));
+            result.setTo(snapshot.dateAt(toIndex - 1));
+            result.setMin(PriceSeries.fromFixed(stats.min()));
+            result.setMax(PriceSeries.fromFixed(stats.max()));
+            result.setMean(BigDecimal.valueOf(stats.sum())
+                    .divide(BigDecimal.valueOf(stats.count()), 0, RoundingMode.HALF_UP)
+                    .movePointLeft(PriceSeries.PRICE_SCALE));
+            result.setFirst(PriceSeries.fromFixed(stats.first()));
+            result.setLast(PriceSeries.fromFixed(stats.last()));
+            if (stats.first() > 0) {
+                result.setReturnPercentage(BigDecimal.valueOf(stats.last() - stats.first())
+                        .multiply(BigDecimal.valueOf(100))
+                        .divide(BigDecimal.valueOf(stats.first()), 4, RoundingMode.HALF_UP));
+            }
+            result.setDailyVolatility(stats.dailyVolatility());
+        }
+        return result;
+    }
+
+    /**
+     * Trailing moving average for every point in [from, to]
+     */
+    public MovingAverage getMovingAverage(MetalType metalType, LocalDate from, LocalDate to, int window) {
+        PriceSeries snapshot = getSeries(metalType);
+        int fromIndex = snapshot.lowerBound(toEpochDay(from));
+        int toIndex = snapshot.upperBound(toEpochDay(to));
+
+        double[] values = snapshot.movingAverage(fromIndex, toIndex, window);
+        List<LocalDate> dates = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            dates.add(snapshot.dateAt(fromIndex + i));
+            values[i] = values[i] / 100.0;
+        }
+        return new MovingAverage(metalType, window, dates, values);
+    }
+
+    /**
+     * Load every series from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        for (MetalType metalType : MetalType.values()) {
+            reload(metalType);
+        }
+    }
+
+    // Runs before other listeners so they observe the updated series
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyPriceChanged(DailyPriceChangedEvent event) {
+        int epochDay = (int) event.getPriceDate().toEpochDay();
+        series.get(event.getMetalType()).updateAndGet(current -> event.isDeleted()
+                ? current.withoutPrice(epochDay)
+                : current.withPrice(epochDay, PriceSeries.toFixed(event.getPricePerGram())));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyPricesImported(DailyPricesImportedEvent event) {
+        event.getMetalTypes().forEach(this::reload);
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        // LocalDate.MIN/MAX lie outside the int range used by the series
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+    }
+
+    /**
+     * Encoded bytes of one series snapshot
+     */
+    private record Encoded(PriceSeries series, ByteBuffer bytes) {
+    }
+
+    private void reload(MetalType metalType) {
+        PriceSeries loaded = readOnlyTransaction.execute(status -> {
+            int[] days = new int[1024];
+            long[] prices = new long[1024];
+            int size = 0;
+            try (Stream<DailyPrice> rows = dailyPriceRepository.streamByMetalType(metalType)) {
+                for (DailyPrice row : (Iterable<DailyPrice>) rows::iterator) {
+                    if (size == days.length) {
+                        days = Arrays.copyOf(days, size * 2);
+                        prices = Arrays.copyOf(prices, size * 2);
+                    }
+                    days[size] = (int) row.getPriceDate().toEpochDay();
+                    prices[size] = PriceSeries.toFixed(row.getPricePerGram());
+                    size++;
+                    entityManager.detach(row);
+                }
+            }
+            return new PriceSeries(Arrays.copyOf(days, size), Arrays.copyOf(prices, size));
+        });
+        series.get(metalType).set(loaded);
+        log.info("Loaded {} daily {} prices into the series store", loaded.size(), metalType);
+    }
+}
@@ -0,0 +1,218 @@
+package com.investment.goldsilver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.goldsilver.dto.PriceTick;
+import com.investment.goldsilver.entity.MetalPrice;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.event.DailyPriceChangedEvent;
+import com.investment.goldsilver.event.MetalPriceChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed price changes to open pages over Server-Sent Events.
+ *
+ * Connections are async requests, so an idle subscriber holds no thread.
+ * Each change is serialized once and offered to every subscriber's mailbox,
+ * which keeps only the latest message per event and metal: a subscriber that
+ * is still busy receiving simply gets the newest value when it catches up.
+ * Mailboxes are drained on a small sender pool, so a slow client never holds
+ * up the writing transaction or the other subscribers. A comment line is sent
+ * periodically so proxies keep idle connections open and dead ones are noticed.
+ */
+@Service
+@Slf4j
+public class PriceStreamService {
+
+    public static final String PRICE_EVENT = "price";
+    public static final String DAILY_PRICE_EVENT = "daily-price";
+
+    private static final String HEARTBEAT_KEY = "heartbeat";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final PriceCache priceCache;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeats;
+
+    public PriceStreamService(PriceCache priceCache, ObjectMapper objectMapper,
+            @Value("${price-stream.timeout:30m}") Duration timeout,
+            @Value("${price-stream.heartbeat:15s}") Duration heartbeat,
+            @Value("${price-stream.sender-threads:2}") int senderThreads) {
+        this.priceCache = priceCache;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("price-stream-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("price-stream-heartbeat-"));
+        this.heartbeats.scheduleWithFixedDelay(this::sendHeartbeat,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream; it starts with the current price of every metal
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        for (MetalType metalType : MetalType.values()) {
+            priceCache.getCurrentPrice(metalType)
+                    .ifPresent(metalPrice -> subscriber.offer(PRICE_EVENT + ":" + metalType, currentPrice(metalPrice)));
+        }
+        return emitter;
+    }
+
+    /**
+     * Number of open streams
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Number of messages replaced by a newer one before they were sent
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMetalPriceChanged(MetalPriceChangedEvent event) {
+        MetalPrice metalPrice = event.getMetalPrice();
+        broadcast(PRICE_EVENT + ":" + metalPrice.getMetalType(), currentPrice(metalPrice));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyPriceChanged(DailyPriceChangedEvent event) {
+        broadcast(DAILY_PRICE_EVENT + ":" + event.getMetalType(), message(DAILY_PRICE_EVENT,
+                new PriceTick(event.getMetalType(), event.getPricePerGram(), event.getPriceDate())));
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeats.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private Message currentPrice(MetalPrice metalPrice) {
+        return message(PRICE_EVENT,
+                new PriceTick(metalPrice.getMetalType(), metalPrice.getPricePerGram(), metalPrice.getUpdatedOn()));
+    }
+
+    /**
+     * Serialize an event once for all subscribers
+     */
+    private Message message(String name, PriceTick tick) {
+        long id = sequence.incrementAndGet();
+        try {
+            return new Message(id, SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(tick))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize price tick", e);
+        }
+    }
+
+    private void broadcast(String key, Message message) {
+        subscribers.forEach(subscriber -> subscriber.offer(key, message));
+    }
+
+    private void sendHeartbeat() {
+        broadcast(HEARTBEAT_KEY, new Message(sequence.get(), SseEmitter.event().comment(HEARTBEAT_KEY).build()));
+    }
+
+    /**
+     * A serialized event and its position in the stream
+     */
+    private record Message(long id, Set<DataWithMediaType> data) {
+    }
+
+    /**
+     * One open stream and its mailbox of unsent messages, latest per key
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<String, Message> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(String key, Message message) {
+            if (pending.put(key, message) != null && !HEARTBEAT_KEY.equals(key)) {
+                coalesced.incrementAndGet();
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false); // shutting down
+                }
+            }
+        }
+
+        /**
+         * Send everything pending; runs on one sender thread at a time
+         */
+        private void drain() {
+            try {
+                do {
+                    List<Message> messages = new ArrayList<>(pending.size());
+                    for (String key : pending.keySet()) {
+                        Message message = pending.remove(key);
+                        if (message != null) {
+                            messages.add(message);
+                        }
+                    }
+                    messages.sort(Comparator.comparingLong(Message::id));
+                    for (Message message : messages) {
+                        emitter.send(message.data());
+                    }
+                    scheduled.set(false);
+                    // An offer made after the loop either scheduled a new drain or left it to this one
+                } while (!pending.isEmpty() && scheduled.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping price stream subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                pending.clear();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.investment.goldsilver.valuation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point valuation arithmetic on scaled longs.
+ *
+ * The schema fixes the scales: amounts and prices have 2 decimals, grams 5,
+ * so a value (grams × price) is exact at scale 7. Inputs are converted to
+ * longs at those scales without rounding, multiplied and summed with overflow
+ * checks, and turned back into BigDecimal only at the edge. Whenever an input
+ * does not fit (more decimals than its column, or more than 18 digits) or a
+ * result overflows, the computation falls back to BigDecimal, so results are
+ * always numerically identical to the plain BigDecimal arithmetic.
+ *
+ * Reading an input allocates nothing (BigDecimal.unscaledValue() would build
+ * a new BigInteger on every call, see {@link #fixedOrOverflow}), and overflow
+ * is detected without exceptions.
+ */
+public final class ValuationKernel {
+
+    public static final int AMOUNT_SCALE = 2;
+    public static final int PRICE_SCALE = 2;
+    public static final int GRAMS_SCALE = 5;
+    public static final int VALUE_SCALE = GRAMS_SCALE + PRICE_SCALE;
+
+    /**
+     * Factor converting an amount (scale 2) to value scale (scale 7)
+     */
+    private static final long AMOUNT_TO_VALUE = 100_000L;
+
+    /**
+     * Returned by {@link #fixedOrOverflow} for an input it cannot read as a long
+     */
+    private static final long OVERFLOW = Long.MIN_VALUE;
+
+    /**
+     * Most digits a fixed-point long is read with: below 10^18 it always fits
+     */
+    private static final int MAX_FIXED_DIGITS = 18;
+
+    private static final long[] POW10 = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L,
+            1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L };
+
+    private ValuationKernel() {
+    }
+
+    /**
+     * Exact fixed-point representation of a decimal at the given scale
+     *
+     * @throws ArithmeticException if the value needs rounding or does not fit in a long
+     */
+    public static long toFixed(BigDecimal value, int scale) {
+        long fixed = fixedOrOverflow(value, scale);
+        return fixed != OVERFLOW ? fixed : value.setScale(scale).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Fixed-point representation of a decimal at the given scale, rounding
+     * extra decimals half up (for values read back from a column of that
+     * scale, which never need it)
+     *
+     * @throws ArithmeticException if the value does not fit in a long
+     */
+    public static long toFixedRounded(BigDecimal value, int scale) {
+        long fixed = fixedOrOverflow(value, scale);
+        return fixed != OVERFLOW ? fixed
+                : value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Exact fixed-point representation of a decimal at the given scale, or
+     * {@link #OVERFLOW} if it would need rounding or has more than 18 digits
+     * at that scale. scaleByPowerOfTen(scale()) is the unscaled value as a
+     * scale 0 decimal, whose long is read without a BigInteger; the decimal
+     * itself does not escape and is eliminated by the JIT.
+     */
+    private static long fixedOrOverflow(BigDecimal value, int scale) {
+        int valueScale = value.scale();
+        if (valueScale < 0 || valueScale > scale || value.precision() + scale - valueScale > MAX_FIXED_DIGITS) {
+            return OVERFLOW;
+        }
+        return value.scaleByPowerOfTen(valueScale).longValueExact() * POW10[scale - valueScale];
+    }
+
+    /**
+     * Decimal for a fixed-point long at the given scale
+     */
+    public static BigDecimal toDecimal(long fixed, int scale) {
+        return BigDecimal.valueOf(fixed, scale);
+    }
+
+    /**
+     * Value (scale 7) of grams (scale 5) at a price (scale 2)
+     *
+     * @throws ArithmeticException on overflow
+     */
+    public static long value(long grams, long price) {
+        return Math.multiplyExact(grams, price);
+    }
+
+    /**
+     * Amount (scale 2) converted to value scale (scale 7)
+     *
+     * @throws ArithmeticException on overflow
+     */
+    public static long amountToValue(long amount) {
+        return Math.multiplyExact(amount, AMOUNT_TO_VALUE);
+    }
+
+    /**
+     * Current value and profit/loss of one holding
+     */
+    public static Valuation valuate(BigDecimal grams, BigDecimal pricePerGram, BigDecimal amount) {
+        long fixedGrams = fixedOrOverflow(grams, GRAMS_SCALE);
+        long fixedPrice = fixedOrOverflow(pricePerGram, PRICE_SCALE);
+        long fixedAmount = fixedOrOverflow(amount, AMOUNT_SCALE);
+        if (fixedGrams != OVERFLOW && fixedPrice != OVERFLOW && fixedAmount != OVERFLOW) {
+            long value = fixedGrams * fixedPrice;
+            long amountValue = fixedAmount * AMOUNT_TO_VALUE;
+            long profitLoss = value - amountValue;
+            // Inputs are below 10^18, so only the product, the amount and the subtraction can overflow
+            if (Math.multiplyHigh(fixedGrams, fixedPrice) == (value >> 63)
+                    && Math.abs(fixedAmount) < Long.MAX_VALUE / AMOUNT_TO_VALUE
+                    && ((value ^ amountValue) & (value ^ profitLoss)) >= 0) {
+                return new Valuation(toDecimal(value, VALUE_SCALE), toDecimal(profitLoss, VALUE_SCALE));
+            }
+        }
+        BigDecimal value = grams.multiply(pricePerGram);
+        return new Valuation(value, value.subtract(amount));
+    }
+
+    /**
+     * Current value and profit/loss of a holding
+     */
+    public record Valuation(BigDecimal currentValue, BigDecimal profitLoss) {
+    }
+
+    /**
+     * Running totals of grams, amount and value. Terms are summed as longs;
+     * a term that cannot be represented, or a sum that would overflow, is
+     * moved into a BigDecimal remainder instead.
+     */
+    public static final class Totals {
+
+        private long grams;
+        private long amount;
+        private long value;
+        private long count;
+        private BigDecimal gramsRemainder = BigDecimal.ZERO;
+        private BigDecimal amountRemainder = BigDecimal.ZERO;
+        private BigDecimal valueRemainder = BigDecimal.ZERO;
+
+        /**
+         * Add one holding bought for an amount at a price per gram
+         */
+        public void add(BigDecimal grams, BigDecimal amount, BigDecimal pricePerGram) {
+            count++;
+            long fixedGrams = fixedOrOverflow(grams, GRAMS_SCALE);
+            long fixedAmount = fixedOrOverflow(amount, AMOUNT_SCALE);
+            long fixedPrice = fixedOrOverflow(pricePerGram, PRICE_SCALE);
+            long fixedValue = fixedGrams * fixedPrice;
+            if (fixedGrams == OVERFLOW || fixedAmount == OVERFLOW || fixedPrice == OVERFLOW
+                    || Math.multiplyHigh(fixedGrams, fixedPrice) != (fixedValue >> 63)) {
+                gramsRemainder = gramsRemainder.add(grams);
+                amountRemainder = amountRemainder.add(amount);
+                valueRemainder = valueRemainder.add(grams.multiply(pricePerGram));
+                return;
+            }
+            this.grams = addOrSpill(this.grams, fixedGrams, GRAMS_SCALE, Field.GRAMS);
+            this.amount = addOrSpill(this.amount, fixedAmount, AMOUNT_SCALE, Field.AMOUNT);
+            this.value = addOrSpill(this.value, fixedValue, VALUE_SCALE, Field.VALUE);
+        }
+
+        public BigDecimal getGrams() {
+            return toDecimal(grams, GRAMS_SCALE).add(gramsRemainder);
+        }
+
+        public BigDecimal getAmount() {
+            return toDecimal(amount, AMOUNT_SCALE).add(amountRemainder);
+        }
+
+        public BigDecimal getValue() {
+            return toDecimal(value, VALUE_SCALE).add(valueRemainder);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        private long addOrSpill(long sum, long term, int scale, Field field) {
+            long result = sum + term;
+            if (((sum ^ result) & (term ^ result)) >= 0) {
+                return result;
+            }
+            // Overflow: move the running sum into the remainder and start over from this term
+            BigDecimal spilled = toDecimal(sum, scale);
+            switch (field) {
+                case GRAMS -> gramsRemainder = gramsRemainder.add(spilled);
+                case AMOUNT -> amountRemainder = amountRemainder.add(spilled);
+                case VALUE -> valueRemainder = valueRemainder.add(spilled);
+            }
+            return term;
+        }
+
+        private enum Field { GRAMS, AMOUNT, VALUE }
+    }
+}
@@ -4,6 +4,15 @@
 
 -- Note: In Spring Boot with Hibernate, data.sql runs AFTER Hibernate's ddl-auto.
 
+-- Hibernate creates a CHECK constraint listing the metal types when it creates
+-- a table, and ddl-auto=update never widens it; drop the ones PostgreSQL
+-- databases created before PLATINUM and PALLADIUM were added (no-op elsewhere)
+ALTER TABLE investments DROP CONSTRAINT IF EXISTS investments_metal_type_check;
+ALTER TABLE metal_prices DROP CONSTRAINT IF EXISTS metal_prices_metal_type_check;
+ALTER TABLE daily_prices DROP CONSTRAINT IF EXISTS daily_prices_metal_type_check;
+ALTER TABLE portfolio_aggregates DROP CONSTRAINT IF EXISTS portfolio_aggregates_metal_type_check;
+ALTER TABLE price_rollups DROP CONSTRAINT IF EXISTS price_rollups_metal_type_check;
+
 -- Gold Price (Sample)
 INSERT INTO metal_prices (metal_type, price_per_gram, updated_on) 
 SELECT 'GOLD', 6000.00, CURRENT_DATE() 
@@ -14,6 +23,16 @@ INSERT INTO metal_prices (metal_type, price_per_gram, updated_on)
 SELECT 'SILVER', 75.00, CURRENT_DATE() 
 WHERE NOT EXISTS (SELECT 1 FROM metal_prices WHERE metal_type = 'SILVER');
 
+-- Platinum Price (Sample)
+INSERT INTO metal_prices (metal_type, price_per_gram, updated_on) 
+SELECT 'PLATINUM', 3000.00, CURRENT_DATE() 
+WHERE NOT EXISTS (SELECT 1 FROM metal_prices WHERE metal_type = 'PLATINUM');
+
+-- Palladium Price (Sample)
+INSERT INTO metal_prices (metal_type, price_per_gram, updated_on) 
+SELECT 'PALLADIUM', 3200.00, CURRENT_DATE() 
+WHERE NOT EXISTS (SELECT 1 FROM metal_prices WHERE metal_type = 'PALLADIUM');
+
 -- Initial Daily Prices for Charting
 INSERT INTO daily_prices (metal_type, price_per_gram, price_date)
 SELECT 'GOLD', 5900.00, CURRENT_DATE() - 2
@@ -0,0 +1,64 @@
+-- Schema as Hibernate maps the entities (PostgreSQL; also runs on H2).
+-- Databases created earlier by ddl-auto=update are baselined at version 0
+-- (spring.flyway.baseline-on-migrate), so this also runs on them: every
+-- statement is idempotent and only adds what such a database lacks (the
+-- aggregate and rollup tables, the OHLC columns and the keyset index).
+-- metal_type has no CHECK list, so adding a metal needs no migration.
+
+CREATE TABLE IF NOT EXISTS investments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    metal_type VARCHAR(255) NOT NULL,
+    purchase_date DATE NOT NULL,
+    amount NUMERIC(10,2) NOT NULL,
+    grams NUMERIC(10,5) NOT NULL,
+    today_price_per_gram NUMERIC(10,2) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_investments_metal_date_id_desc ON investments (metal_type, purchase_date DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS metal_prices (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    metal_type VARCHAR(255) NOT NULL UNIQUE,
+    price_per_gram NUMERIC(10,2) NOT NULL,
+    updated_on DATE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS daily_prices (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    metal_type VARCHAR(255) NOT NULL,
+    price_date DATE NOT NULL,
+    price_per_gram NUMERIC(10,2) NOT NULL,
+    open_price NUMERIC(10,2),
+    high_price NUMERIC(10,2),
+    low_price NUMERIC(10,2),
+    close_price NUMERIC(10,2),
+    UNIQUE (metal_type, price_date)
+);
+
+ALTER TABLE daily_prices ADD COLUMN IF NOT EXISTS open_price NUMERIC(10,2);
+ALTER TABLE daily_prices ADD COLUMN IF NOT EXISTS high_price NUMERIC(10,2);
+ALTER TABLE daily_prices ADD COLUMN IF NOT EXISTS low_price NUMERIC(10,2);
+ALTER TABLE daily_prices ADD COLUMN IF NOT EXISTS close_price NUMERIC(10,2);
+
+CREATE TABLE IF NOT EXISTS portfolio_aggregates (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    metal_type VARCHAR(255) NOT NULL UNIQUE,
+    total_grams NUMERIC(25,5) NOT NULL,
+    total_amount NUMERIC(25,2) NOT NULL,
+    total_current_value NUMERIC(30,7) NOT NULL,
+    investment_count BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS price_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    metal_type VARCHAR(255) NOT NULL,
+    resolution VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    open_price NUMERIC(10,2) NOT NULL,
+    high_price NUMERIC(10,2) NOT NULL,
+    low_price NUMERIC(10,2) NOT NULL,
+    close_price NUMERIC(10,2) NOT NULL,
+    average_price NUMERIC(10,2) NOT NULL,
+    day_count INTEGER NOT NULL,
+    UNIQUE (metal_type, resolution, period_start)
+);
@@ -0,0 +1,16 @@
+-- Starting reference price of every metal, for metals that have none yet
+INSERT INTO metal_prices (metal_type, price_per_gram, updated_on)
+SELECT 'GOLD', 6000.00, CURRENT_DATE
+WHERE NOT EXISTS (SELECT 1 FROM metal_prices WHERE metal_type = 'GOLD');
+
+INSERT INTO metal_prices (metal_type, price_per_gram, updated_on)
+SELECT 'SILVER', 75.00, CURRENT_DATE
+WHERE NOT EXISTS (SELECT 1 FROM metal_prices WHERE metal_type = 'SILVER');
+
+INSERT INTO metal_prices (metal_type, price_per_gram, updated_on)
+SELECT 'PLATINUM', 3000.00, CURRENT_DATE
+WHERE NOT EXISTS (SELECT 1 FROM metal_prices WHERE metal_type = 'PLATINUM');
+
+INSERT INTO metal_prices (metal_type, price_per_gram, updated_on)
+SELECT 'PALLADIUM', 3200.00, CURRENT_DATE
+WHERE NOT EXISTS (SELECT 1 FROM metal_prices WHERE metal_type = 'PALLADIUM');
@@ -0,0 +1,81 @@
+/* ========================================
+   Live prices
+   Subscribes to the /api/v1/prices/stream Server-Sent Events and updates
+   the page in place: dashboard sections marked with data-live-metal are
+   revalued from their grams and invested amount, and every tick is
+   re-dispatched on document as a "price-tick" event for page scripts
+   ======================================== */
+(function () {
+    const url = document.currentScript && document.currentScript.dataset.url;
+    if (!url || !window.EventSource) {
+        return;
+    }
+
+    const prices = {};
+
+    function setText(section, name, text) {
+        section.querySelectorAll('[data-live="' + name + '"]').forEach(element => element.textContent = text);
+    }
+
+    // Update the figures of one section for a current value
+    function revalue(section, value) {
+        const invested = Number(section.dataset.invested);
+        const profit = value - invested;
+        const positive = profit >= 0;
+
+        setText(section, 'value', value.toFixed(2));
+        setText(section, 'profit', profit.toFixed(2));
+        setText(section, 'percent', (invested > 0 ? profit / invested * 100 : 0).toFixed(2));
+        setText(section, 'arrow', positive ? '▲' : '▼');
+        setText(section, 'icon', positive ? '🟢' : '🔴');
+        section.querySelectorAll('[data-live="sign"]').forEach(element => {
+            element.classList.toggle('positive', positive);
+            element.classList.toggle('negative', !positive);
+        });
+        section.querySelectorAll('[data-live="card"]').forEach(element => {
+            element.classList.toggle('profit', positive);
+            element.classList.toggle('loss', !positive);
+        });
+    }
+
+    function updateDashboard() {
+        let total = 0;
+        let complete = true;
+        let changed = false;
+        document.querySelectorAll('[data-live-metal]').forEach(section => {
+            const metalType = section.dataset.liveMetal;
+            const shown = section.querySelector('[data-live="price"]');
+            if (metalType === 'ALL' || !shown) {
+                return;
+            }
+            const price = prices[metalType];
+            if (price === undefined) {
+                complete = false;
+                return;
+            }
+            const value = Number(section.dataset.grams) * price;
+            // The rendered figures are exact; only recompute sections whose price moved
+            if (Number(shown.textContent) !== price) {
+                shown.textContent = price.toFixed(2);
+                revalue(section, value);
+                changed = true;
+            }
+            total += value;
+        });
+        if (complete && changed) {
+            document.querySelectorAll('[data-live-metal="ALL"]').forEach(section => revalue(section, total));
+        }
+    }
+
+    // EventSource reconnects on its own; the stream starts again with the current prices
+    const source = new EventSource(url);
+    source.addEventListener('price', event => {
+        const tick = JSON.parse(event.data);
+        prices[tick.metalType] = Number(tick.pricePerGram);
+        updateDashboard();
+        document.dispatchEvent(new CustomEvent('price-tick', { detail: tick }));
+    });
+    source.addEventListener('daily-price', event => {
+        document.dispatchEvent(new CustomEvent('daily-price-tick', { detail: JSON.parse(event.data) }));
+    });
+})();
@@ -0,0 +1,68 @@
+/* ========================================
+   Price series decoder
+   Fetches daily price history in the compact binary format
+   (Accept: application/vnd.goldsilver.price-series) and decodes it into
+   typed arrays: PriceSeries.fetch(url).then(({ epochDays, prices }) => ...)
+   Prices are per gram; epochDays are days since 1970-01-01
+   ======================================== */
+(function () {
+    const MEDIA_TYPE = 'application/vnd.goldsilver.price-series';
+
+    function decode(arrayBuffer) {
+        const bytes = new Uint8Array(arrayBuffer);
+        if (bytes.length < 5 || bytes[0] !== 0x50 || bytes[1] !== 0x53 || bytes[2] !== 1) {
+            throw new Error('Not a version 1 price series');
+        }
+        const divisor = Math.pow(10, bytes[3]);
+        let position = 4;
+
+        // Little-endian base 128; multiplication keeps values above 2^31 exact
+        function varint() {
+            let value = 0;
+            let factor = 1;
+            let byte;
+            do {
+                if (position >= bytes.length) {
+                    throw new Error('Truncated price series');
+                }
+                byte = bytes[position++];
+                value += (byte & 0x7f) * factor;
+                factor *= 128;
+            } while (byte & 0x80);
+            return value;
+        }
+
+        function zigzag() {
+            const value = varint();
+            return value % 2 === 0 ? value / 2 : -(value + 1) / 2;
+        }
+
+        const count = varint();
+        const epochDays = new Int32Array(count);
+        const prices = new Float64Array(count);
+        let day = 0;
+        for (let i = 0; i < count; i++) {
+            day = i === 0 ? zigzag() : day + varint();
+            epochDays[i] = day;
+        }
+        let fixed = 0;
+        for (let i = 0; i < count; i++) {
+            fixed += zigzag();
+            prices[i] = fixed / divisor;
+        }
+        return { epochDays, prices };
+    }
+
+    function fetchSeries(url) {
+        return fetch(url, { headers: { 'Accept': MEDIA_TYPE } })
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error('HTTP ' + response.status);
+                }
+                return response.arrayBuffer();
+            })
+            .then(decode);
+    }
+
+    window.PriceSeries = { decode, fetch: fetchSeries, MEDIA_TYPE };
+})();
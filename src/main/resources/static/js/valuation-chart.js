@@ -0,0 +1,77 @@
+/* ========================================
+   Portfolio value over time (dashboard)
+   Draws the /api/v1/portfolio/valuation curve as an inline SVG
+   ======================================== */
+(function () {
+    const container = document.getElementById('valuation-chart');
+    if (!container) {
+        return;
+    }
+
+    const WIDTH = 1000;
+    const HEIGHT = 300;
+    const PADDING = 40;
+    const MAX_POINTS = 1000;
+
+    function formatRupees(amount) {
+        return '₹' + Number(amount).toLocaleString('en-IN', { maximumFractionDigits: 0 });
+    }
+
+    function polyline(points, key, xScale, yScale, cssClass) {
+        const coordinates = points
+            .map((point, i) => xScale(i).toFixed(1) + ',' + yScale(Number(point[key])).toFixed(1))
+            .join(' ');
+        return '<polyline class="' + cssClass + '" points="' + coordinates + '"/>';
+    }
+
+    function render(points) {
+        if (points.length === 0) {
+            container.innerHTML = '<p class="text-center">No investments yet.</p>';
+            return;
+        }
+
+        // Keep at most MAX_POINTS evenly spaced days, always including the last one
+        const stride = Math.ceil(points.length / MAX_POINTS);
+        const sampled = points.filter((point, i) => i % stride === 0 || i === points.length - 1);
+
+        let min = Infinity;
+        let max = -Infinity;
+        for (const point of sampled) {
+            min = Math.min(min, Number(point.invested), Number(point.value));
+            max = Math.max(max, Number(point.invested), Number(point.value));
+        }
+        if (max === min) {
+            max = min + 1;
+        }
+
+        const xScale = i => PADDING + (sampled.length > 1 ? i / (sampled.length - 1) : 0) * (WIDTH - 2 * PADDING);
+        const yScale = v => HEIGHT - PADDING - (v - min) / (max - min) * (HEIGHT - 2 * PADDING);
+        const last = sampled[sampled.length - 1];
+
+        container.innerHTML =
+            '<svg viewBox="0 0 ' + WIDTH + ' ' + HEIGHT + '" preserveAspectRatio="none" role="img">' +
+            polyline(sampled, 'invested', xScale, yScale, 'invested') +
+            polyline(sampled, 'value', xScale, yScale, 'value') +
+            '<text x="' + PADDING + '" y="' + (PADDING - 10) + '">' + formatRupees(max) + '</text>' +
+            '<text x="' + PADDING + '" y="' + (HEIGHT - 10) + '">' + formatRupees(min) + '</text>' +
+            '<text x="' + PADDING + '" y="' + (HEIGHT / 2) + '">' + sampled[0].date + '</text>' +
+            '<text x="' + (WIDTH - PADDING) + '" y="' + (HEIGHT / 2) + '" text-anchor="end">' + last.date + '</text>' +
+            '</svg>' +
+            '<div class="chart-legend">' +
+            '<span class="value">Value ' + formatRupees(last.value) + '</span>' +
+            '<span class="invested">Invested ' + formatRupees(last.invested) + '</span>' +
+            '</div>';
+    }
+
+    fetch(container.dataset.url, { headers: { 'Accept': 'application/json' } })
+        .then(response => {
+            if (!response.ok) {
+                throw new Error('HTTP ' + response.status);
+            }
+            return response.json();
+        })
+        .then(render)
+        .catch(error => {
+            container.innerHTML = '<p class="text-center">Could not load the valuation curve (' + error.message + ').</p>';
+        });
+})();
@@ -0,0 +1,107 @@
+package com.investment.goldsilver.controller;
+
+import com.investment.goldsilver.datasource.RoutingContext;
+import com.investment.goldsilver.dto.DashboardStats;
+import com.investment.goldsilver.entity.MetalPrice;
+import com.investment.goldsilver.entity.MetalType;
+import com.investment.goldsilver.intraday.IntradayTickStore;
+import com.investment.goldsilver.service.DataVersion;
+import com.investment.goldsilver.service.InvestmentService;
+import com.investment.goldsilver.service.PortfolioValuationService;
+import com.investment.goldsilver.service.PriceRollupService;
+import com.investment.goldsilver.service.PriceSeriesStore;
+import com.investment.goldsilver.service.PriceStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tagged API bodies are read with the thread pinned to the primary, whose
+ * commits the tags count, and the caller's pin is left as it was
+ */
+class ApiV1ControllerTest {
+
+    private final InvestmentService investmentService = mock(InvestmentService.class);
+    private final DataVersion dataVersion = mock(DataVersion.class);
+    private final ApiV1Controller controller = new ApiV1Controller(investmentService, dataVersion,
+            mock(PriceSeriesStore.class), mock(PriceRollupService.class), mock(PortfolioValuationService.class),
+            mock(PriceStreamService.class), mock(IntradayTickStore.class));
+
+    private final AtomicBoolean readPinned = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        when(dataVersion.combinedTag()).thenReturn("c1");
+        when(dataVersion.priceTag()).thenReturn("p1");
+        when(investmentService.getDashboardStats()).thenAnswer(invocation -> {
+            readPinned.set(RoutingContext.isPinnedToPrimary());
+            return null;
+        });
+        when(investmentService.getCurrentPrice(MetalType.GOLD)).thenAnswer(invocation -> {
+            readPinned.set(RoutingContext.isPinnedToPrimary());
+            return Optional.of(new MetalPrice());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.unpin();
+    }
+
+    @Test
+    void dashboardBodyIsReadFromThePrimary() {
+        ResponseEntity<DashboardStats> response = controller.dashboard(request(null));
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"c1\"");
+        assertThat(readPinned).isTrue();
+        assertThat(RoutingContext.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void currentPriceIsReadFromThePrimary() {
+        ResponseEntity<MetalPrice> response = controller.currentPrice(MetalType.GOLD, request(null));
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"p1\"");
+        assertThat(readPinned).isTrue();
+        assertThat(RoutingContext.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void callerPinIsKept() {
+        RoutingContext.pinToPrimary();
+
+        controller.dashboard(request(null));
+
+        assertThat(readPinned).isTrue();
+        assertThat(RoutingContext.isPinnedToPrimary()).isTrue();
+    }
+
+    @Test
+    void unchangedVersionIsAnsweredWithoutReading() {
+        ResponseEntity<DashboardStats> response = controller.dashboard(request("\"c1\""));
+
+        assertThat(response).isNull();
+        verifyNoInteractions(investmentService);
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/dashboard");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,60 @@
+package com.investment.goldsilver.feed;
+
+import com.investment.goldsilver.entity.MetalType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parsing of feed lines into ticks
+ */
+class PriceFeedTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    @Test
+    void parsesMetalPriceAndTimestamp() {
+        PriceFeed.Tick tick = PriceFeed.Tick.parse(" gold , 6000.5 , 2026-10-17T09:30:00Z", NOW);
+
+        assertThat(tick.metalType()).isEqualTo(MetalType.GOLD);
+        assertThat(tick.pricePerGram()).isEqualTo(new BigDecimal("6000.50"));
+        assertThat(tick.timestamp()).isEqualTo(Instant.parse("2026-10-17T09:30:00Z"));
+    }
+
+    @Test
+    void timestampDefaultsToNow() {
+        assertThat(PriceFeed.Tick.parse("SILVER,75", NOW).timestamp()).isEqualTo(NOW);
+    }
+
+    @Test
+    void priceIsRoundedToTwoDecimals() {
+        assertThat(PriceFeed.Tick.parse("GOLD,6000.005", NOW).pricePerGram()).isEqualTo(new BigDecimal("6000.01"));
+        assertThat(PriceFeed.Tick.parse("GOLD,6000.0049", NOW).pricePerGram()).isEqualTo(new BigDecimal("6000.00"));
+        assertThat(PriceFeed.Tick.parse("GOLD,99999999.994", NOW).pricePerGram())
+                .isEqualTo(new BigDecimal("99999999.99"));
+    }
+
+    @Test
+    void rejectsPricesOutsideTheColumn() {
+        // Rounds to 0.00, and to 100000000.00 (11 digits)
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("GOLD,0.004", NOW)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("GOLD,99999999.995", NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("GOLD,-1", NOW)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("GOLD", NOW)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("TIN,1.00", NOW)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("GOLD,abc", NOW)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("GOLD,1.00,yesterday", NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceFeed.Tick.parse("GOLD,1.00,2026-10-17T09:30:00Z,x", NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,182 @@
+package com.investment.goldsilver.intraday;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Appending, segment rollover, replay and crash recovery of the tick journal,
+ * on real memory-mapped files
+ */
+class TickJournalTest {
+
+    private static final int SEGMENT_TICKS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ticksSurviveAReopen() throws IOException {
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            append(journal, 1, 3);
+        }
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            assertThat(journal.count()).isEqualTo(3);
+            append(journal, 4, 5);
+
+            assertThat(replay(journal, 0)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        }
+    }
+
+    @Test
+    void fullSegmentsRollOverToFilesNamedAfterTheirFirstSequence() throws IOException {
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            append(journal, 1, 10);
+
+            assertThat(journal.count()).isEqualTo(10);
+            assertThat(segmentNames()).containsExactly(
+                    "00000000000000000000.ticks", "00000000000000000004.ticks", "00000000000000000008.ticks");
+            assertThat(replay(journal, 0)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        }
+        // Reopening continues in the last segment
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            append(journal, 11, 13);
+
+            assertThat(journal.count()).isEqualTo(13);
+            assertThat(segmentNames()).hasSize(4).last().isEqualTo("00000000000000000012.ticks");
+            assertThat(replay(journal, 0)).hasSize(13).endsWith(11L, 12L, 13L);
+        }
+    }
+
+    @Test
+    void replayStartsInTheMiddleOfASegment() throws IOException {
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            append(journal, 1, 10);
+
+            // Tick 6 is the second record of the second segment; the first segment is skipped
+            assertThat(replay(journal, nanos(6))).containsExactly(6L, 7L, 8L, 9L, 10L);
+            assertThat(replay(journal, nanos(9))).containsExactly(9L, 10L);
+            assertThat(replay(journal, nanos(11))).isEmpty();
+            assertThat(journal.replay(nanos(6), (epochNanos, price) -> { })).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void tornTailIsClearedOnReopen() throws IOException {
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            append(journal, 1, 5);
+        }
+        // A crash while writing tick 6 (no checksum yet), and garbage after it
+        Path active = directory.resolve("00000000000000000004.ticks");
+        writeLongs(active, 1L * TickJournal.RECORD_BYTES, nanos(6), price(6), 0L);
+        writeLongs(active, 3L * TickJournal.RECORD_BYTES, 42L);
+
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            assertThat(journal.count()).isEqualTo(5);
+            assertThat(replay(journal, 0)).containsExactly(1L, 2L, 3L, 4L, 5L);
+            assertThat(readLong(active, 1L * TickJournal.RECORD_BYTES)).isZero();
+            assertThat(readLong(active, 3L * TickJournal.RECORD_BYTES)).isZero();
+
+            // The next tick takes the torn record's place
+            append(journal, 6, 6);
+            assertThat(replay(journal, 0)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        }
+    }
+
+    @Test
+    void recordWithABadChecksumEndsTheJournal() throws IOException {
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            append(journal, 1, 3);
+        }
+        // Corrupt the price of tick 2: it and everything after it are dropped
+        Path segment = directory.resolve("00000000000000000000.ticks");
+        writeLongs(segment, TickJournal.RECORD_BYTES + 8L, 999L);
+
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            assertThat(journal.count()).isEqualTo(1);
+            assertThat(replay(journal, 0)).containsExactly(1L);
+        }
+    }
+
+    @Test
+    void deleteBeforeKeepsTheActiveSegment() throws IOException {
+        try (TickJournal journal = TickJournal.open(directory, SEGMENT_TICKS)) {
+            append(journal, 1, 10);
+
+            // Only the first segment (ticks 1-4) ends before tick 6
+            assertThat(journal.deleteBefore(nanos(6))).isEqualTo(1);
+            assertThat(segmentNames()).hasSize(2);
+            assertThat(journal.count()).isEqualTo(6);
+            assertThat(replay(journal, 0)).containsExactly(5L, 6L, 7L, 8L, 9L, 10L);
+
+            // Everything is older, but the active segment stays
+            assertThat(journal.deleteBefore(Long.MAX_VALUE)).isEqualTo(1);
+            assertThat(segmentNames()).containsExactly("00000000000000000008.ticks");
+            assertThat(replay(journal, 0)).containsExactly(9L, 10L);
+        }
+    }
+
+    private static void append(TickJournal journal, int from, int to) throws IOException {
+        for (int i = from; i <= to; i++) {
+            journal.append(nanos(i), price(i));
+        }
+    }
+
+    /**
+     * Replay and return the tick numbers, checking each price on the way
+     */
+    private static List<Long> replay(TickJournal journal, long fromEpochNanos) throws IOException {
+        List<Long> ticks = new ArrayList<>();
+        journal.replay(fromEpochNanos, (epochNanos, price) -> {
+            long tick = epochNanos / 1_000_000_000L;
+            assertThat(price).isEqualTo(price(tick));
+            ticks.add(tick);
+        });
+        return ticks;
+    }
+
+    private static long nanos(long tick) {
+        return tick * 1_000_000_000L;
+    }
+
+    private static long price(long tick) {
+        return 600_000 + tick;
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static void writeLongs(Path file, long offset, long... values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(buffer, offset);
+        }
+    }
+
+    private static long readLong(Path file, long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(buffer, offset);
+        }
+        return buffer.getLong(0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.investment.goldsilver.intraday;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ordering and wrap-around of the tick ring, and that concurrent readers
+ * never see a half-written tick
+ */
+class TickRingTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new TickRing(1).capacity()).isEqualTo(2);
+        assertThat(new TickRing(2).capacity()).isEqualTo(2);
+        assertThat(new TickRing(3).capacity()).isEqualTo(4);
+        assertThat(new TickRing(1000).capacity()).isEqualTo(1024);
+        assertThat(new TickRing(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void emptyRingReturnsNothing() {
+        assertThat(new TickRing(8).latest(8, new long[8], new long[8])).isZero();
+    }
+
+    @Test
+    void latestReturnsTheNewestTicksOldestFirst() {
+        TickRing ring = new TickRing(8);
+        for (int i = 1; i <= 5; i++) {
+            ring.append(i * 1000L, i * 100L);
+        }
+        long[] times = new long[8];
+        long[] prices = new long[8];
+
+        assertThat(ring.latest(3, times, prices)).isEqualTo(3);
+        assertThat(times).startsWith(3000L, 4000L, 5000L);
+        assertThat(prices).startsWith(300L, 400L, 500L);
+
+        // Asking for more than were appended returns what there is
+        assertThat(ring.latest(8, times, prices)).isEqualTo(5);
+        assertThat(times).startsWith(1000L, 2000L, 3000L, 4000L, 5000L);
+    }
+
+    @Test
+    void oldestTicksAreOverwrittenOnceTheRingIsFull() {
+        TickRing ring = new TickRing(4);
+        for (int i = 1; i <= 10; i++) {
+            ring.append(i, i * 10L);
+        }
+        long[] times = new long[16];
+        long[] prices = new long[16];
+
+        assertThat(ring.count()).isEqualTo(10);
+        // Never more than the capacity, however many are asked for
+        assertThat(ring.latest(16, times, prices)).isEqualTo(4);
+        assertThat(times).startsWith(7L, 8L, 9L, 10L);
+        assertThat(prices).startsWith(70L, 80L, 90L, 100L);
+    }
+
+    @Test
+    void concurrentReadersNeverSeeATornTick() throws Exception {
+        int writers = 4;
+        int ticksPerWriter = 200_000;
+        // No slot is reused, so a preempted writer can't be lapped (which the ring rules out)
+        TickRing ring = new TickRing(writers * ticksPerWriter);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            long writer = w;
+            threads.add(new Thread(() -> {
+                await(start);
+                for (long i = 1; i <= ticksPerWriter; i++) {
+                    long time = writer << 32 | i;
+                    // The price is derived from the time, so a torn pair is detectable
+                    ring.append(time, ~time);
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            await(start);
+            long[] times = new long[64];
+            long[] prices = new long[64];
+            while (writing.get() && failure.get() == null) {
+                int copied = ring.latest(64, times, prices);
+                for (int i = 0; i < copied; i++) {
+                    if (prices[i] != ~times[i]) {
+                        failure.set("tick " + times[i] + " read with price " + prices[i]);
+                    }
+                }
+            }
+        });
+
+        threads.forEach(Thread::start);
+        reader.start();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writing.set(false);
+        reader.join();
+
+        assertThat(failure.get()).isNull();
+        assertThat(ring.count()).isEqualTo((long) writers * ticksPerWriter);
+        // Once the writers are done the whole ring is readable
+        assertThat(ring.latest(64, new long[64], new long[64])).isEqualTo(64);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
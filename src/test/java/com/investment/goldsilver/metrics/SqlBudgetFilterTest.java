@@ -0,0 +1,85 @@
+package com.investment.goldsilver.metrics;
+
+import com.investment.goldsilver.service.InvestmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The dashboard and metal pages stay within their SQL statement budgets,
+ * counting the statements run on the dashboard executor. The rendered page
+ * cache is off so every request reaches the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "page-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+class SqlBudgetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlBudgetProperties properties;
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Test
+    void dashboardStaysWithinItsBudget() throws Exception {
+        assertWithinBudget("/", "/");
+    }
+
+    @Test
+    void metalPagesStayWithinTheirBudget() throws Exception {
+        assertWithinBudget("/gold", "/{metal:[a-z]+}");
+        assertWithinBudget("/silver", "/{metal:[a-z]+}");
+    }
+
+    @Test
+    void metalPageBudgetIsKeyedWithoutTheRegex() {
+        assertThat(properties.limitFor("/{metal:[a-z]+}")).isEqualTo(properties.getEndpoints().get("/{metal}"));
+        assertThat(properties.limitFor("/{metal:[a-z]+}")).isLessThan(properties.getDefaultLimit());
+    }
+
+    @Test
+    void dashboardStatementsIncludeTheOffThreadTotalsQuery() {
+        SqlStats stats = SqlStatementTracker.capture(() -> investmentService.getDashboardStats());
+
+        assertThat(stats.getStatements().keySet())
+                .anyMatch(sql -> sql.toLowerCase().contains("portfolio_aggregates"));
+        assertThat(stats.getStatementCount()).isLessThanOrEqualTo(properties.limitFor("/"));
+    }
+
+    private void assertWithinBudget(String uri, String pattern) throws Exception {
+        // The first request also fills the in-process price cache
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(get(uri))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("Server-Timing"))
+                    .andReturn();
+
+            assertThat(result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                    .isEqualTo(pattern);
+            SqlStats stats = SqlStats.of(result.getRequest());
+            assertThat(stats).isNotNull();
+            assertThat(stats.getStatementCount())
+                    .as("%s statements: %s", uri, stats.getStatements().keySet())
+                    .isLessThanOrEqualTo(properties.limitFor(pattern));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.investment.goldsilver.repository;
+
+import com.investment.goldsilver.dto.PriceCandle;
+import com.investment.goldsilver.entity.MetalType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A daily price written directly becomes the day's close without leaving
+ * its intraday candle inconsistent
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:daily-price-upserts;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@Transactional
+class DailyPriceUpsertsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2020, 5, 4);
+
+    @Autowired
+    private DailyPriceRepository dailyPriceRepository;
+
+    @Test
+    void directPriceWidensTheIntradayRangeAndBecomesTheClose() {
+        dailyPriceRepository.upsertOhlc("GOLD", DAY, price("100.00"), price("110.00"), price("90.00"),
+                price("105.00"));
+
+        dailyPriceRepository.upsert("GOLD", DAY, price("120.00"));
+        assertCandle(candle(), "100.00", "120.00", "90.00", "120.00");
+
+        dailyPriceRepository.upsert("GOLD", DAY, price("80.00"));
+        assertCandle(candle(), "100.00", "120.00", "80.00", "80.00");
+
+        dailyPriceRepository.upsert("GOLD", DAY, price("95.00"));
+        assertCandle(candle(), "100.00", "120.00", "80.00", "95.00");
+    }
+
+    @Test
+    void dayWithoutIntradayPricesStaysWithoutThem() {
+        dailyPriceRepository.upsert("GOLD", DAY, price("50.00"));
+        dailyPriceRepository.upsert("GOLD", DAY, price("60.00"));
+
+        assertCandle(candle(), "60.00", "60.00", "60.00", "60.00");
+        assertThat(dailyPriceRepository.findByMetalTypeAndPriceDate(MetalType.GOLD, DAY))
+                .hasValueSatisfying(dailyPrice -> {
+                    assertThat(dailyPrice.getOpenPrice()).isNull();
+                    assertThat(dailyPrice.getHighPrice()).isNull();
+                    assertThat(dailyPrice.getLowPrice()).isNull();
+                    assertThat(dailyPrice.getClosePrice()).isNull();
+                });
+    }
+
+    private PriceCandle candle() {
+        List<PriceCandle> candles = dailyPriceRepository.findCandles(MetalType.GOLD, DAY, DAY);
+        assertThat(candles).hasSize(1);
+        return candles.get(0);
+    }
+
+    private static void assertCandle(PriceCandle candle, String open, String high, String low, String close) {
+        assertThat(candle.getOpen()).isEqualByComparingTo(open);
+        assertThat(candle.getHigh()).isEqualByComparingTo(high);
+        assertThat(candle.getLow()).isEqualByComparingTo(low);
+        assertThat(candle.getClose()).isEqualByComparingTo(close);
+    }
+
+    private static BigDecimal price(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,142 @@
+package com.investment.goldsilver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The binary series format, checked byte for byte on small inputs and by
+ * round trips through a decoder that mirrors static/js/price-series.js
+ * (with Java longs, so 64-bit edge values round trip exactly)
+ */
+class PriceSeriesCodecTest {
+
+    @Test
+    void encodesHeaderAndColumns() {
+        PriceSeries series = new PriceSeries(new int[] { 1, 2, 302 }, new long[] { 100, 99, 163 });
+
+        assertThat(bytes(PriceSeriesCodec.encode(series, 0, 3))).containsExactly(
+                'P', 'S', 1, 2, // magic, version, price scale
+                3, // count
+                2, 1, 0xAC, 0x02, // day 1 (zigzag), gap 1, gap 300 (two varint bytes)
+                0xC8, 0x01, 1, 0x80, 0x01); // price 100 (zigzag 200), change -1, change +64
+    }
+
+    @Test
+    void encodesAnEmptyRange() {
+        PriceSeries series = new PriceSeries(new int[] { 1 }, new long[] { 100 });
+
+        assertThat(bytes(PriceSeriesCodec.encode(series, 0, 0))).containsExactly('P', 'S', 1, 2, 0);
+        assertThat(bytes(PriceSeriesCodec.encode(PriceSeries.empty(), 0, 0))).containsExactly('P', 'S', 1, 2, 0);
+    }
+
+    @Test
+    void roundTripsEdgeValues() {
+        // Days before 1970, the int extremes and gaps of every varint length
+        int[] days = { Integer.MIN_VALUE, -1, 0, 127, 128, 16_511, 2_113_663, Integer.MAX_VALUE };
+        // Negative deltas and the long extremes (deltas wrap around in 64 bits)
+        long[] prices = { Long.MAX_VALUE, Long.MIN_VALUE, 0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 63 };
+
+        assertRoundTrip(new PriceSeries(days, prices), 0, days.length);
+    }
+
+    @Test
+    void roundTripsARangeFromTheMiddle() {
+        int[] days = { 10, 11, 12, 40, 41 };
+        long[] prices = { 500, 450, 700, 20, 20 };
+        PriceSeries series = new PriceSeries(days, prices);
+
+        // The first day of the range is written absolute, not as a gap from day 10
+        assertRoundTrip(series, 2, 5);
+        assertThat(bytes(PriceSeriesCodec.encode(series, 2, 5))).startsWith('P', 'S', 1, 2, 3, 24);
+    }
+
+    @Test
+    void roundTripsRandomSeries() {
+        Random random = new Random(20261017L);
+        for (int run = 0; run < 200; run++) {
+            int size = random.nextInt(500);
+            int[] days = new int[size];
+            long[] prices = new long[size];
+            int day = random.nextInt(40_000) - 20_000;
+            long price = random.nextInt(1_000_000);
+            for (int i = 0; i < size; i++) {
+                day += 1 + random.nextInt(random.nextBoolean() ? 3 : 5_000);
+                price = Math.max(0, price + random.nextInt(20_001) - 10_000);
+                days[i] = day;
+                prices[i] = price;
+            }
+            assertRoundTrip(new PriceSeries(days, prices), 0, size);
+        }
+    }
+
+    @Test
+    void bufferIsReadOnly() {
+        assertThat(PriceSeriesCodec.encode(PriceSeries.empty(), 0, 0).isReadOnly()).isTrue();
+    }
+
+    private static void assertRoundTrip(PriceSeries series, int fromIndex, int toIndex) {
+        Decoded decoded = decode(PriceSeriesCodec.encode(series, fromIndex, toIndex));
+
+        assertThat(decoded.days()).hasSize(toIndex - fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            assertThat(decoded.days()[i - fromIndex]).as("day %d", i).isEqualTo(series.epochDayAt(i));
+            assertThat(decoded.prices()[i - fromIndex]).as("price %d", i).isEqualTo(series.priceAt(i));
+        }
+    }
+
+    private record Decoded(int[] days, long[] prices) {
+    }
+
+    private static Decoded decode(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate();
+        assertThat(in.get()).isEqualTo((byte) 'P');
+        assertThat(in.get()).isEqualTo((byte) 'S');
+        assertThat(in.get()).isEqualTo((byte) 1);
+        assertThat(in.get()).isEqualTo((byte) PriceSeries.PRICE_SCALE);
+
+        int count = (int) varint(in);
+        int[] days = new int[count];
+        long[] prices = new long[count];
+        long day = 0;
+        for (int i = 0; i < count; i++) {
+            day = i == 0 ? zigzag(varint(in)) : day + varint(in);
+            days[i] = (int) day;
+        }
+        long price = 0;
+        for (int i = 0; i < count; i++) {
+            price += zigzag(varint(in));
+            prices[i] = price;
+        }
+        assertThat(in.hasRemaining()).as("trailing bytes").isFalse();
+        return new Decoded(days, prices);
+    }
+
+    private static long varint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long zigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int[] bytes(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate();
+        int[] bytes = new int[in.remaining()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = in.get() & 0xFF;
+        }
+        return bytes;
+    }
+}
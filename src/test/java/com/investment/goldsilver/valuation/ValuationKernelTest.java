@@ -0,0 +1,303 @@
+package com.investment.goldsilver.valuation;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Differential check of the kernel against the BigDecimal formulas it
+ * replaced: value = grams × price, profit/loss = value − amount, and totals
+ * as plain BigDecimal sums.
+ *
+ * The kernel's results are always at the value scale (7) while the BigDecimal
+ * product carries the sum of its operands' scales, so results are compared
+ * with compareTo, never equals; where a scale is displayed, it is rounded
+ * HALF_UP to 2 decimals on both sides and compared with equals.
+ */
+class ValuationKernelTest {
+
+    private static final long SEED = 20261017L;
+
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    // Spread random unscaled values over every digit count
+    private static final long[] LONG_POW10_DIVISORS = { 1L, 10L, 1_000L, 100_000L, 10_000_000L,
+            1_000_000_000L, 100_000_000_000L, 10_000_000_000_000L, 1_000_000_000_000_000L };
+
+    @Test
+    void valuateMatchesBigDecimalForRandomColumnScaledInputs() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal grams = BigDecimal.valueOf(random.nextLong(100_000_000_000L), ValuationKernel.GRAMS_SCALE);
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(100_000_000L), ValuationKernel.PRICE_SCALE);
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(10_000_000_000L), ValuationKernel.AMOUNT_SCALE);
+
+            assertMatchesBigDecimal(grams, price, amount);
+        }
+    }
+
+    @Test
+    void valuateMatchesBigDecimalAtBoundaries() {
+        List<BigDecimal> grams = List.of(
+                new BigDecimal("0.00000"), new BigDecimal("0.00001"), new BigDecimal("1.00000"),
+                new BigDecimal("99999.99999"), BigDecimal.valueOf(Long.MAX_VALUE, ValuationKernel.GRAMS_SCALE),
+                BigDecimal.valueOf(Long.MIN_VALUE, ValuationKernel.GRAMS_SCALE));
+        List<BigDecimal> prices = List.of(
+                new BigDecimal("0.00"), new BigDecimal("0.01"), new BigDecimal("1.00"),
+                new BigDecimal("99999999.99"), BigDecimal.valueOf(Long.MAX_VALUE, ValuationKernel.PRICE_SCALE));
+        List<BigDecimal> amounts = List.of(
+                new BigDecimal("0.00"), new BigDecimal("0.01"), new BigDecimal("-0.01"),
+                BigDecimal.valueOf(Long.MAX_VALUE, ValuationKernel.AMOUNT_SCALE),
+                BigDecimal.valueOf(Long.MIN_VALUE, ValuationKernel.AMOUNT_SCALE));
+
+        for (BigDecimal g : grams) {
+            for (BigDecimal p : prices) {
+                for (BigDecimal a : amounts) {
+                    assertMatchesBigDecimal(g, p, a);
+                }
+            }
+        }
+    }
+
+    @Test
+    void valuateMatchesBigDecimalForInputsBelowColumnScale() {
+        // Fewer decimals than the column (e.g. parsed from "2" or "1.5")
+        assertMatchesBigDecimal(new BigDecimal("1.5"), new BigDecimal("2"), new BigDecimal("3"));
+        assertMatchesBigDecimal(new BigDecimal("10"), new BigDecimal("65.1"), new BigDecimal("651.0"));
+    }
+
+    @Test
+    void valuateFallsBackToBigDecimalForInputsBeyondColumnScale() {
+        BigDecimal grams = new BigDecimal("1.123456");
+        BigDecimal price = new BigDecimal("65.125");
+        BigDecimal amount = new BigDecimal("73.1234");
+
+        ValuationKernel.Valuation valuation = assertMatchesBigDecimal(grams, price, amount);
+
+        // No rounding to the column scales: the exact product is kept
+        assertThat(valuation.currentValue()).isEqualTo(grams.multiply(price));
+        assertThat(valuation.profitLoss()).isEqualTo(grams.multiply(price).subtract(amount));
+    }
+
+    @Test
+    void valuateFallsBackToBigDecimalWhenTheProductOverflows() {
+        BigDecimal grams = BigDecimal.valueOf(Long.MAX_VALUE / 2, ValuationKernel.GRAMS_SCALE);
+        BigDecimal price = new BigDecimal("3.00");
+        assertThatThrownBy(() -> ValuationKernel.value(
+                ValuationKernel.toFixed(grams, ValuationKernel.GRAMS_SCALE),
+                ValuationKernel.toFixed(price, ValuationKernel.PRICE_SCALE)))
+                .isInstanceOf(ArithmeticException.class);
+
+        ValuationKernel.Valuation valuation = assertMatchesBigDecimal(grams, price, new BigDecimal("1.00"));
+
+        // Not representable as a long at the value scale
+        assertThat(valuation.currentValue().movePointRight(ValuationKernel.VALUE_SCALE)).isGreaterThan(LONG_MAX);
+    }
+
+    @Test
+    void valuateFallsBackToBigDecimalWhenTheAmountOverflowsAtValueScale() {
+        BigDecimal amount = BigDecimal.valueOf(Long.MAX_VALUE / 10, ValuationKernel.AMOUNT_SCALE);
+        assertThatThrownBy(() -> ValuationKernel.amountToValue(
+                ValuationKernel.toFixed(amount, ValuationKernel.AMOUNT_SCALE)))
+                .isInstanceOf(ArithmeticException.class);
+
+        assertMatchesBigDecimal(new BigDecimal("1.00000"), new BigDecimal("1.00"), amount);
+    }
+
+    @Test
+    void valuateFallsBackToBigDecimalWhenTheProfitLossOverflows() {
+        BigDecimal grams = BigDecimal.valueOf(Long.MAX_VALUE, ValuationKernel.VALUE_SCALE)
+                .setScale(ValuationKernel.GRAMS_SCALE, RoundingMode.DOWN);
+        BigDecimal amount = BigDecimal.valueOf(Long.MIN_VALUE / 100_000L, ValuationKernel.AMOUNT_SCALE);
+
+        assertMatchesBigDecimal(grams, new BigDecimal("1.00"), amount);
+    }
+
+    @Test
+    void roundsHalfUpTiesLikeBigDecimal() {
+        // Values whose third decimal is exactly 5, on both sides of zero
+        BigDecimal[][] ties = {
+                {new BigDecimal("0.00500"), new BigDecimal("1.00"), new BigDecimal("0.00"), new BigDecimal("0.01")},
+                {new BigDecimal("0.50000"), new BigDecimal("0.01"), new BigDecimal("0.00"), new BigDecimal("0.01")},
+                {new BigDecimal("1.00500"), new BigDecimal("1.00"), new BigDecimal("0.00"), new BigDecimal("1.01")},
+                {new BigDecimal("2.50000"), new BigDecimal("0.01"), new BigDecimal("0.00"), new BigDecimal("0.03")},
+                {new BigDecimal("0.00500"), new BigDecimal("1.00"), new BigDecimal("0.01"), new BigDecimal("-0.01")},
+                {new BigDecimal("0.01500"), new BigDecimal("1.00"), new BigDecimal("0.03"), new BigDecimal("-0.02")},
+        };
+        for (BigDecimal[] tie : ties) {
+            BigDecimal grams = tie[0];
+            BigDecimal price = tie[1];
+            BigDecimal amount = tie[2];
+            BigDecimal expected = tie[3];
+
+            ValuationKernel.Valuation valuation = ValuationKernel.valuate(grams, price, amount);
+            BigDecimal kernel = amount.signum() == 0 ? valuation.currentValue() : valuation.profitLoss();
+            BigDecimal reference = grams.multiply(price).subtract(amount);
+
+            assertThat(kernel.setScale(2, RoundingMode.HALF_UP))
+                    .isEqualTo(reference.setScale(2, RoundingMode.HALF_UP))
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void roundsHalfUpLikeBigDecimalForRandomInputs() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal grams = BigDecimal.valueOf(random.nextLong(10_000_000L), ValuationKernel.GRAMS_SCALE);
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(1_000_000L), ValuationKernel.PRICE_SCALE);
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(1_000_000L), ValuationKernel.AMOUNT_SCALE);
+
+            ValuationKernel.Valuation valuation = ValuationKernel.valuate(grams, price, amount);
+
+            assertThat(valuation.currentValue().setScale(2, RoundingMode.HALF_UP))
+                    .isEqualTo(grams.multiply(price).setScale(2, RoundingMode.HALF_UP));
+            assertThat(valuation.profitLoss().setScale(2, RoundingMode.HALF_UP))
+                    .isEqualTo(grams.multiply(price).subtract(amount).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void toFixedNormalizesTheScale() {
+        assertThat(ValuationKernel.toFixed(new BigDecimal("1.5"), ValuationKernel.GRAMS_SCALE)).isEqualTo(150_000L);
+        assertThat(ValuationKernel.toFixed(new BigDecimal("1.50000"), ValuationKernel.GRAMS_SCALE)).isEqualTo(150_000L);
+        assertThat(ValuationKernel.toFixed(new BigDecimal("2"), ValuationKernel.PRICE_SCALE)).isEqualTo(200L);
+        assertThat(ValuationKernel.toFixed(new BigDecimal("-0.01"), ValuationKernel.AMOUNT_SCALE)).isEqualTo(-1L);
+
+        // Round trip lands on the column scale, whatever the input's scale was
+        BigDecimal roundTrip = ValuationKernel.toDecimal(
+                ValuationKernel.toFixed(new BigDecimal("1.5"), ValuationKernel.GRAMS_SCALE), ValuationKernel.GRAMS_SCALE);
+        assertThat(roundTrip).isEqualTo(new BigDecimal("1.50000"));
+        assertThat(roundTrip).isNotEqualTo(new BigDecimal("1.5"));
+        assertThat(roundTrip).isEqualByComparingTo(new BigDecimal("1.5"));
+    }
+
+    @Test
+    void toFixedMatchesSetScaleAcrossDigitsAndScales() {
+        Random random = new Random(SEED + 3);
+        for (int i = 0; i < 100_000; i++) {
+            int scale = random.nextInt(ValuationKernel.GRAMS_SCALE + 1);
+            long unscaled = random.nextLong() / LONG_POW10_DIVISORS[random.nextInt(LONG_POW10_DIVISORS.length)];
+            BigDecimal value = BigDecimal.valueOf(unscaled, random.nextInt(scale + 1));
+            BigDecimal scaled = value.setScale(scale);
+
+            if (scaled.precision() <= 18) {
+                assertThat(ValuationKernel.toFixed(value, scale)).as("%s", value)
+                        .isEqualTo(scaled.unscaledValue().longValueExact());
+            }
+        }
+        // Largest values read without BigInteger (18 digits) and the first ones that are not
+        assertThat(ValuationKernel.toFixed(new BigDecimal("9999999999999999.99"), 2))
+                .isEqualTo(999_999_999_999_999_999L);
+        assertThat(ValuationKernel.toFixed(new BigDecimal("-9999999999999.99999"), 5))
+                .isEqualTo(-999_999_999_999_999_999L);
+        assertThat(ValuationKernel.toFixed(new BigDecimal("1234567890123456.7"), 2))
+                .isEqualTo(123_456_789_012_345_670L);
+        assertThat(ValuationKernel.toFixed(new BigDecimal("92233720368547758.07"), 2)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void valuateFallsBackWhenTheFixedPointProductOverflows() {
+        // Inputs that fit in a long whose product does not
+        assertMatchesBigDecimal(new BigDecimal("9999999999.99999"), new BigDecimal("9999999999999.99"),
+                new BigDecimal("1.00"));
+        assertMatchesBigDecimal(new BigDecimal("-9999999999.99999"), new BigDecimal("9999999999999.99"),
+                new BigDecimal("9999999999999.99"));
+        // Product fits, the amount at value scale does not
+        assertMatchesBigDecimal(new BigDecimal("0.00001"), new BigDecimal("0.01"),
+                new BigDecimal("9999999999999.99"));
+    }
+
+    @Test
+    void toFixedRejectsRoundingAndOutOfRangeValues() {
+        assertThatThrownBy(() -> ValuationKernel.toFixed(new BigDecimal("0.001"), ValuationKernel.AMOUNT_SCALE))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> ValuationKernel.toFixed(LONG_MAX, ValuationKernel.PRICE_SCALE))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toFixedRoundedRoundsHalfUp() {
+        assertThat(ValuationKernel.toFixedRounded(new BigDecimal("1.5"), ValuationKernel.PRICE_SCALE)).isEqualTo(150L);
+        assertThat(ValuationKernel.toFixedRounded(new BigDecimal("0.005"), ValuationKernel.PRICE_SCALE)).isEqualTo(1L);
+        assertThat(ValuationKernel.toFixedRounded(new BigDecimal("-0.005"), ValuationKernel.PRICE_SCALE))
+                .isEqualTo(-1L);
+        assertThat(ValuationKernel.toFixedRounded(new BigDecimal("0.0049"), ValuationKernel.PRICE_SCALE)).isZero();
+        assertThatThrownBy(() -> ValuationKernel.toFixedRounded(LONG_MAX, ValuationKernel.PRICE_SCALE))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void totalsMatchBigDecimalSums() {
+        Random random = new Random(SEED + 2);
+        ValuationKernel.Totals totals = new ValuationKernel.Totals();
+        BigDecimal grams = BigDecimal.ZERO;
+        BigDecimal amount = BigDecimal.ZERO;
+        BigDecimal value = BigDecimal.ZERO;
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal g = BigDecimal.valueOf(random.nextLong(100_000_000_000L), ValuationKernel.GRAMS_SCALE);
+            BigDecimal a = BigDecimal.valueOf(random.nextLong(10_000_000_000L), ValuationKernel.AMOUNT_SCALE);
+            BigDecimal p = BigDecimal.valueOf(random.nextLong(100_000_000L), ValuationKernel.PRICE_SCALE);
+            totals.add(g, a, p);
+            grams = grams.add(g);
+            amount = amount.add(a);
+            value = value.add(g.multiply(p));
+        }
+
+        assertThat(totals.getCount()).isEqualTo(10_000);
+        assertThat(totals.getGrams()).isEqualByComparingTo(grams);
+        assertThat(totals.getAmount()).isEqualByComparingTo(amount);
+        assertThat(totals.getValue()).isEqualByComparingTo(value);
+    }
+
+    @Test
+    void totalsSpillOverflowingSumsAndUnrepresentableTermsIntoTheRemainder() {
+        List<BigDecimal[]> terms = new ArrayList<>();
+        BigDecimal bigGrams = BigDecimal.valueOf(Long.MAX_VALUE / 3, ValuationKernel.GRAMS_SCALE);
+        BigDecimal bigAmount = BigDecimal.valueOf(Long.MAX_VALUE / 3, ValuationKernel.AMOUNT_SCALE);
+        for (int i = 0; i < 10; i++) {
+            // Sums overflow after a few terms; the value of each term overflows on its own
+            terms.add(new BigDecimal[] {bigGrams, bigAmount, new BigDecimal("1.00")});
+            terms.add(new BigDecimal[] {new BigDecimal("1.00000"), new BigDecimal("1.00"), new BigDecimal("1.00")});
+            // More decimals than the columns
+            terms.add(new BigDecimal[] {new BigDecimal("0.123456"), new BigDecimal("0.125"), new BigDecimal("1.005")});
+        }
+
+        ValuationKernel.Totals totals = new ValuationKernel.Totals();
+        BigDecimal grams = BigDecimal.ZERO;
+        BigDecimal amount = BigDecimal.ZERO;
+        BigDecimal value = BigDecimal.ZERO;
+        for (BigDecimal[] term : terms) {
+            totals.add(term[0], term[1], term[2]);
+            grams = grams.add(term[0]);
+            amount = amount.add(term[1]);
+            value = value.add(term[0].multiply(term[2]));
+        }
+
+        assertThat(totals.getCount()).isEqualTo(terms.size());
+        assertThat(totals.getGrams()).isEqualByComparingTo(grams);
+        assertThat(totals.getAmount()).isEqualByComparingTo(amount);
+        assertThat(totals.getValue()).isEqualByComparingTo(value);
+    }
+
+    private static ValuationKernel.Valuation assertMatchesBigDecimal(BigDecimal grams, BigDecimal price,
+            BigDecimal amount) {
+        ValuationKernel.Valuation valuation = ValuationKernel.valuate(grams, price, amount);
+        BigDecimal value = grams.multiply(price);
+
+        assertThat(valuation.currentValue())
+                .as("value of %s g at %s", grams, price)
+                .isEqualByComparingTo(value);
+        assertThat(valuation.profitLoss())
+                .as("profit/loss of %s g at %s bought for %s", grams, price, amount)
+                .isEqualByComparingTo(value.subtract(amount));
+        return valuation;
+    }
+}